@@ -0,0 +1,120 @@
+package net.shirojr.boatism.benchmark;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.util.math.Vec3d;
+import net.shirojr.boatism.util.BoatEngineHandler;
+import net.shirojr.boatism.util.TrackedValueSync;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Allocation regression checks of the per tick code of a running engine. Counts the bytes, which the current thread
+ * allocates, so the checks have to stay at zero bytes per call or at the documented allocations of vanilla code.
+ * Less than one byte per call is accepted, since the JVM itself allocates a few bytes now and then.<br>
+ * {@code BoatEngineEntity.tick} itself needs a real server world, check out {@link ThrustBenchmark} for its parts.
+ */
+class TickAllocationTest {
+    private static final int CHECKED_CALLS = 100_000;
+
+    private StubBoatEngineEntity boatEngine;
+    private BoatEngineHandler engineHandler;
+    private StubBoatEntity boatEntity;
+
+    @BeforeAll
+    static void bootstrap() {
+        BenchmarkBootstrap.initialize();
+    }
+
+    @BeforeEach
+    void setup() {
+        this.boatEngine = BenchmarkBootstrap.createStubEngine(
+                DefaultedList.ofSize(4, ItemStack.EMPTY), DefaultedList.ofSize(2, ItemStack.EMPTY));
+        this.engineHandler = BoatEngineHandler.create(this.boatEngine);
+        this.boatEntity = BenchmarkBootstrap.createStubBoat(1);
+    }
+
+    @Test
+    void applyThrustWhileCruisingDoesNotAllocate() {
+        // faster than any thrust, so no velocity is added
+        this.boatEntity.setVelocity(new Vec3d(10.0, 0.0, 10.0));
+        assertNoAllocations("applyThrust while cruising", () -> {
+            this.boatEntity.setYaw(this.boatEntity.getYaw() + 1.5f);
+            this.engineHandler.applyThrust(this.boatEntity);
+        });
+    }
+
+    @Test
+    void applyThrustWhileAcceleratingOnlyAllocatesAddVelocity() {
+        long addVelocityBytes = allocatedBytes(() -> {
+            this.boatEntity.setVelocity(Vec3d.ZERO);
+            this.boatEntity.addVelocity(0.1, 0.0, 0.1);
+        });
+        long applyThrustBytes = allocatedBytes(() -> {
+            this.boatEntity.setVelocity(Vec3d.ZERO);
+            this.engineHandler.applyThrust(this.boatEntity);
+        });
+        assertTrue(this.boatEntity.getVelocity().horizontalLengthSquared() > 0.0, "the boat has to be accelerated");
+        assertTrue(applyThrustBytes - addVelocityBytes < CHECKED_CALLS,
+                "applyThrust allocated %s bytes in %s calls, while Entity.addVelocity alone allocates %s bytes"
+                        .formatted(applyThrustBytes, CHECKED_CALLS, addVelocityBytes));
+    }
+
+    /**
+     * Covers the fuel consumption and {@code handleOverheating} of a heated up engine under heavy load
+     */
+    @Test
+    void incrementTickDoesNotAllocate() {
+        this.boatEngine.setIsRunning(true);
+        this.boatEngine.setPowerLevel(BoatEngineHandler.MAX_POWER_LEVEL - 1);
+        assertNoAllocations("incrementTick", () -> {
+            // keeps the engine away from stopping, which would play a sound in the stub world
+            this.boatEngine.setFuel(1000.0f);
+            this.boatEngine.setOverheat(20);
+            this.engineHandler.incrementTick();
+        });
+        assertEquals(22, this.boatEngine.getOverheat());
+        assertTrue(this.engineHandler.engineIsRunning());
+    }
+
+    /**
+     * Covers the decision of {@code BoatEngineEntity.syncTrackedValues}. Writing the DataTracker boxes the values
+     * and is a documented allocation.
+     */
+    @Test
+    void trackedValueSyncDoesNotAllocate() {
+        TrackedValueSync fuelSync = new TrackedValueSync(10.0f, 100, Float.MIN_VALUE, 5.0f, 300.0f);
+        float[] fuel = {1500.0f};
+        int[] syncs = {0};
+        assertNoAllocations("TrackedValueSync.tick", () -> {
+            fuel[0] = fuel[0] > 1.3f ? fuel[0] - 1.3f : 1500.0f;
+            if (fuelSync.tick(fuel[0])) syncs[0]++;
+        });
+        assertTrue(syncs[0] > 0);
+    }
+
+    private static void assertNoAllocations(String operationName, Runnable operation) {
+        long allocatedBytes = allocatedBytes(operation);
+        assertTrue(allocatedBytes < CHECKED_CALLS, "%s allocated %s bytes in %s calls"
+                .formatted(operationName, allocatedBytes, CHECKED_CALLS));
+    }
+
+    /**
+     * @return bytes, which the current thread allocated for {@link #CHECKED_CALLS} calls of the operation
+     */
+    private static long allocatedBytes(Runnable operation) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        // the first calls may still run in the interpreter
+        for (int i = 0; i < CHECKED_CALLS; i++) operation.run();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < CHECKED_CALLS; i++) operation.run();
+        return threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    }
+}
@@ -0,0 +1,71 @@
+package net.shirojr.boatism.benchmark;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.SimpleRegistry;
+import net.shirojr.boatism.item.BoatismItems;
+import net.shirojr.boatism.sound.BoatismSounds;
+
+import java.lang.reflect.Field;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Shared setup of all benchmarks. There is no Fabric Loader in the benchmark JVM, so mixins are not applied and
+ * the entities are replaced by stubs, which implement the mixin interfaces themselves.
+ * Code paths, which cast real entities to mixin interfaces, can't be benchmarked here.
+ */
+public final class BenchmarkBootstrap {
+    private static boolean initialized = false;
+
+    private BenchmarkBootstrap() {
+    }
+
+    /**
+     * Runs the vanilla bootstrap first and registers Boatism's content afterward.<br>
+     * The vanilla bootstrap freezes the registries and Fabric API's mixin, which unfreezes them again, isn't applied
+     * here. So the affected registries are unfrozen by reflection and frozen again after the registration.
+     */
+    public static synchronized void initialize() {
+        if (initialized) return;
+        initialized = true;
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        unfreeze(Registries.SOUND_EVENT, false);
+        unfreeze(Registries.ITEM, true);
+        unfreeze(Registries.ITEM_GROUP, false);
+        BoatismSounds.initializeSounds();
+        BoatismItems.initialize();
+        Registries.SOUND_EVENT.freeze();
+        Registries.ITEM.freeze();
+        Registries.ITEM_GROUP.freeze();
+    }
+
+    /**
+     * @param intrusive true for registries, whose entries create their registry entry in their constructor
+     */
+    private static void unfreeze(Object registry, boolean intrusive) {
+        try {
+            Field frozen = SimpleRegistry.class.getDeclaredField("frozen");
+            frozen.setAccessible(true);
+            frozen.setBoolean(registry, false);
+            if (intrusive) {
+                Field intrusiveValueToEntry = SimpleRegistry.class.getDeclaredField("intrusiveValueToEntry");
+                intrusiveValueToEntry.setAccessible(true);
+                intrusiveValueToEntry.set(registry, new IdentityHashMap<>());
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Couldn't unfreeze " + registry, e);
+        }
+    }
+
+    public static StubBoatEngineEntity createStubEngine(List<ItemStack> armorItems, List<ItemStack> heldItems) {
+        return StubBoatEngineEntity.create(armorItems, heldItems, 5);
+    }
+
+    public static StubBoatEntity createStubBoat(int passengers) {
+        return new StubBoatEntity(passengers);
+    }
+}
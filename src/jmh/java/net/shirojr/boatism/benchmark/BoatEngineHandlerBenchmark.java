@@ -0,0 +1,71 @@
+package net.shirojr.boatism.benchmark;
+
+import net.minecraft.entity.vehicle.BoatEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.collection.DefaultedList;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import net.shirojr.boatism.item.BoatismItems;
+import net.shirojr.boatism.util.BoatEngineHandler;
+import net.shirojr.boatism.util.BoatEngineStats;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per tick queries of the {@link BoatEngineHandler}. Benchmarks, which call into the stub engine, also measure the
+ * stub's overhead. Compare them with {@link #stubEngineCall()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoatEngineHandlerBenchmark {
+    private BoatEngineEntity boatEngine;
+    private BoatEngineHandler engineHandler;
+    private BoatEntity boatEntity;
+    private ItemStack conflictingStack;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        DefaultedList<ItemStack> armorItems = DefaultedList.ofSize(4, ItemStack.EMPTY);
+        armorItems.set(0, new ItemStack(BoatismItems.COMPONENT_CANISTER));
+        armorItems.set(1, new ItemStack(BoatismItems.COMPONENT_EXHAUST));
+        DefaultedList<ItemStack> heldItems = DefaultedList.ofSize(2, ItemStack.EMPTY);
+
+        this.boatEngine = BenchmarkBootstrap.createStubEngine(armorItems, heldItems);
+        this.engineHandler = BoatEngineHandler.create(this.boatEngine);
+        this.boatEntity = BenchmarkBootstrap.createStubBoat(2);
+        this.conflictingStack = new ItemStack(BoatismItems.COMPONENT_PLATES);
+    }
+
+    @Benchmark
+    public float calculateThrustModifier() {
+        return this.engineHandler.calculateThrustModifier(this.boatEntity);
+    }
+
+    @Benchmark
+    public void consumeFuel() {
+        this.engineHandler.consumeFuel(1.0f);
+    }
+
+    @Benchmark
+    public boolean breaksWhenSubmerged() {
+        return this.engineHandler.breaksWhenSubmerged();
+    }
+
+    @Benchmark
+    public boolean canEquipPart() {
+        return this.engineHandler.canEquipPart(this.conflictingStack);
+    }
+
+    @Benchmark
+    public BoatEngineStats refreshStats() {
+        this.engineHandler.refreshStats();
+        return this.engineHandler.getStats();
+    }
+
+    @Benchmark
+    public float stubEngineCall() {
+        return this.boatEngine.getFuel();
+    }
+}
@@ -0,0 +1,63 @@
+package net.shirojr.boatism.benchmark;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.collection.DefaultedList;
+import net.shirojr.boatism.item.BoatismItems;
+import net.shirojr.boatism.util.BoatEngineData;
+import net.shirojr.boatism.util.BoatEngineNbtHelper;
+import net.shirojr.boatism.util.NbtKeys;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoatEngineNbtHelperBenchmark {
+    private DefaultedList<ItemStack> armorItems;
+    private NbtCompound writtenNbt;
+    private BoatEngineData engineData;
+    private NbtCompound writtenEngineNbt;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        this.armorItems = DefaultedList.ofSize(4, ItemStack.EMPTY);
+        this.armorItems.set(0, new ItemStack(BoatismItems.COMPONENT_CANISTER));
+        this.armorItems.set(2, new ItemStack(BoatismItems.COMPONENT_PLATES));
+        this.writtenNbt = new NbtCompound();
+        BoatEngineNbtHelper.writeItemStacksToNbt(this.armorItems, NbtKeys.ARMOR_ITEMS, this.writtenNbt);
+        this.engineData = new BoatEngineData(Optional.of(UUID.randomUUID()), this.armorItems,
+                DefaultedList.ofSize(2, ItemStack.EMPTY), 2, 40, 250.0f, BoatEngineData.DEFAULT_ARM_ROTATION,
+                false, true);
+        this.writtenEngineNbt = new NbtCompound();
+        this.engineData.writeNbt(this.writtenEngineNbt);
+    }
+
+    @Benchmark
+    public NbtCompound writeItemStacksToNbt() {
+        NbtCompound nbt = new NbtCompound();
+        BoatEngineNbtHelper.writeItemStacksToNbt(this.armorItems, NbtKeys.ARMOR_ITEMS, nbt);
+        return nbt;
+    }
+
+    @Benchmark
+    public DefaultedList<ItemStack> readItemStacksFromNbt() {
+        return BoatEngineNbtHelper.readItemStacksFromNbt(this.writtenNbt, NbtKeys.ARMOR_ITEMS, 4);
+    }
+
+    @Benchmark
+    public NbtCompound writeEngineData() {
+        NbtCompound nbt = new NbtCompound();
+        this.engineData.writeNbt(nbt);
+        return nbt;
+    }
+
+    @Benchmark
+    public Optional<BoatEngineData> readEngineData() {
+        return BoatEngineData.fromNbt(this.writtenEngineNbt);
+    }
+}
@@ -0,0 +1,27 @@
+package net.shirojr.boatism.benchmark;
+
+import net.minecraft.network.PacketByteBuf;
+import net.shirojr.boatism.util.BoatEngineHandler;
+import net.shirojr.boatism.util.SoundInstanceIdentifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packet building of {@link BoatEngineHandler#flushSoundStateChanges()} for a single engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SoundStatePacketBenchmark {
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+    }
+
+    @Benchmark
+    public PacketByteBuf createSoundStatePacket() {
+        return BoatEngineHandler.createSoundStatePacket(42, SoundInstanceIdentifier.ENGINE_RUNNING.getBit()
+                | SoundInstanceIdentifier.ENGINE_LOW_FUEL.getBit() | SoundInstanceIdentifier.ENGINE_OVERHEATING.getBit());
+    }
+}
@@ -0,0 +1,86 @@
+package net.shirojr.boatism.benchmark;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Vec3d;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import org.objenesis.ObjenesisStd;
+
+import java.util.List;
+
+/**
+ * Boat engine, which is created without running any constructor, since a real engine would need a world and its
+ * registered attributes. It only answers the calls of the benchmarked code and, unlike a mock, doesn't allocate
+ * anything per call.<br>
+ * Its world is a server world without any state, so only the {@code isClient()} checks of the engine can use it.
+ */
+public class StubBoatEngineEntity extends BoatEngineEntity {
+    private List<ItemStack> armorItems, heldItems;
+    private float fuel;
+    private int powerLevel;
+    private boolean running;
+
+    @SuppressWarnings("DataFlowIssue")
+    private StubBoatEngineEntity() {
+        // never called, instances are created by Objenesis
+        super((EntityType<? extends LivingEntity>) null, null);
+    }
+
+    public static StubBoatEngineEntity create(List<ItemStack> armorItems, List<ItemStack> heldItems, int powerLevel) {
+        StubBoatEngineEntity boatEngine = new ObjenesisStd().newInstance(StubBoatEngineEntity.class);
+        boatEngine.armorItems = armorItems;
+        boatEngine.heldItems = heldItems;
+        boatEngine.fuel = 1000.0f;
+        boatEngine.powerLevel = powerLevel;
+        boatEngine.setWorld(new ObjenesisStd().newInstance(ServerWorld.class));
+        boatEngine.setVelocity(Vec3d.ZERO);
+        return boatEngine;
+    }
+
+    @Override
+    public Iterable<ItemStack> getArmorItems() {
+        return this.armorItems;
+    }
+
+    @Override
+    public Iterable<ItemStack> getHeldItems() {
+        return this.heldItems;
+    }
+
+    @Override
+    public float getFuel() {
+        return this.fuel;
+    }
+
+    @Override
+    public void setFuel(float fuel) {
+        this.fuel = fuel;
+    }
+
+    @Override
+    public int getPowerLevel() {
+        return this.powerLevel;
+    }
+
+    @Override
+    public void setPowerLevel(int level) {
+        this.powerLevel = level;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public void setIsRunning(boolean shouldRun) {
+        this.running = shouldRun;
+    }
+
+    @Override
+    public boolean isSubmerged() {
+        return false;
+    }
+}
@@ -0,0 +1,47 @@
+package net.shirojr.boatism.benchmark;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.vehicle.BoatEntity;
+import net.shirojr.boatism.mixin.BoatEntityInvoker;
+import net.shirojr.boatism.util.BoatEngineCoupler;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Vanilla boat without a world. Mixins aren't applied in the benchmark JVM, so this stub implements the interfaces,
+ * which Boatism's mixins would add to every {@link BoatEntity}.
+ */
+public class StubBoatEntity extends BoatEntity implements BoatEntityInvoker, BoatEngineCoupler {
+    private final List<Entity> passengerList;
+    private Optional<UUID> boatEngineUuid = Optional.empty();
+
+    @SuppressWarnings("DataFlowIssue")
+    public StubBoatEntity(int passengers) {
+        super(EntityType.BOAT, null);
+        this.passengerList = Collections.nCopies(passengers, null);
+    }
+
+    @Override
+    public List<Entity> getPassengerList() {
+        return this.passengerList;
+    }
+
+    @Override
+    public int invokeGetMaxPassenger() {
+        return this.getMaxPassengers();
+    }
+
+    @Override
+    public Optional<UUID> boatism$getBoatEngineEntityUuid() {
+        return this.boatEngineUuid;
+    }
+
+    @Override
+    public void boatism$setBoatEngineEntity(UUID boatEngineEntity) {
+        this.boatEngineUuid = Optional.ofNullable(boatEngineEntity);
+    }
+}
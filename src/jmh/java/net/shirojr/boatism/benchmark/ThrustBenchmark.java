@@ -0,0 +1,75 @@
+package net.shirojr.boatism.benchmark;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.util.math.Vec3d;
+import net.shirojr.boatism.util.BoatEngineHandler;
+import net.shirojr.boatism.util.ThrustVector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thrust path of a running engine. Its allocations are checked by {@code TickAllocationTest} of the
+ * {@code testAllocations} task, which is part of {@code ./gradlew check}.<br><br>
+ * Allocations, which are still left on the tick path of a running engine:
+ * <ul>
+ *     <li>{@code Entity.addVelocity} creates one {@link Vec3d} per tick, while the boat is slower than the thrust</li>
+ *     <li>the DataTracker boxes fuel and overheat, whenever they are synced to the clients</li>
+ *     <li>{@code BoatEngineHandler.flushSoundStateChanges} looks up the nearby players, whenever sound states are
+ *     sent or refreshed</li>
+ * </ul>
+ * {@code BoatEngineEntity.tick} itself isn't covered, since it needs a real server world. Its own parts are
+ * {@link BoatEngineHandler#applyThrust}, {@link BoatEngineHandler#incrementTick} and the {@code TrackedValueSync}
+ * of {@code syncTrackedValues}, which the test covers separately. The rest of it is vanilla's {@code LivingEntity.tick}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ThrustBenchmark {
+    private final ThrustVector thrustVector = new ThrustVector();
+    private BoatEngineHandler engineHandler;
+    private StubBoatEntity cruisingBoat, acceleratingBoat;
+    private float yaw = 0.0f;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkBootstrap.initialize();
+        this.engineHandler = BoatEngineHandler.create(BenchmarkBootstrap.createStubEngine(
+                DefaultedList.ofSize(4, ItemStack.EMPTY), DefaultedList.ofSize(2, ItemStack.EMPTY)));
+        this.cruisingBoat = BenchmarkBootstrap.createStubBoat(1);
+        // faster than any thrust, so no velocity is added
+        this.cruisingBoat.setVelocity(new Vec3d(10.0, 0.0, 10.0));
+        this.acceleratingBoat = BenchmarkBootstrap.createStubBoat(1);
+    }
+
+    @Benchmark
+    public double thrustVector() {
+        this.yaw += 1.5f;
+        return this.thrustVector.set(this.yaw, 0.0f, 0.5).horizontalLengthSquared();
+    }
+
+    @Benchmark
+    public float thrustModifier() {
+        return this.engineHandler.calculateThrustModifier(1, 3);
+    }
+
+    /**
+     * Has to stay at 0 B/op
+     */
+    @Benchmark
+    public void applyThrustCruising() {
+        this.cruisingBoat.setYaw(this.cruisingBoat.getYaw() + 1.5f);
+        this.engineHandler.applyThrust(this.cruisingBoat);
+    }
+
+    /**
+     * Allocates the single {@link Vec3d} of {@code Entity.addVelocity}
+     */
+    @Benchmark
+    public Vec3d applyThrustAccelerating() {
+        this.acceleratingBoat.setVelocity(Vec3d.ZERO);
+        this.engineHandler.applyThrust(this.acceleratingBoat);
+        return this.acceleratingBoat.getVelocity();
+    }
+}
@@ -6,14 +6,20 @@ import net.fabricmc.fabric.api.client.rendering.v1.EntityRendererRegistry;
 import net.minecraft.client.render.entity.model.EntityModelLayer;
 import net.minecraft.util.Identifier;
 import net.shirojr.boatism.entity.BoatismEntities;
+import net.shirojr.boatism.entity.client.BoatEngineBatchRenderer;
 import net.shirojr.boatism.entity.client.BoatEngineEntityModel;
 import net.shirojr.boatism.entity.client.BoatEngineEntityRenderer;
+import net.shirojr.boatism.entity.client.BoatEngineMeshCache;
+import net.shirojr.boatism.entity.client.BoatEngineParticleEmitter;
 import net.shirojr.boatism.event.BoatismEvents;
 import net.shirojr.boatism.network.BoatismS2C;
 import net.shirojr.boatism.sound.BoatismSoundManager;
 
 public class BoatismClient implements ClientModInitializer {
     public static BoatismSoundManager soundManager;
+    public static BoatEngineParticleEmitter particleEmitter;
+    public static BoatEngineMeshCache meshCache;
+    public static BoatEngineBatchRenderer batchRenderer;
     public static final EntityModelLayer BOAT_ENGINE_LAYER =
             new EntityModelLayer(new Identifier(Boatism.MODID, "boat_engine_layer"), "main");
 
@@ -22,6 +28,9 @@ public class BoatismClient implements ClientModInitializer {
         BoatismS2C.registerClientReceivers();
         BoatismEvents.registerClientEvents();
         soundManager = new BoatismSoundManager();
+        particleEmitter = new BoatEngineParticleEmitter();
+        meshCache = new BoatEngineMeshCache();
+        batchRenderer = new BoatEngineBatchRenderer();
 
         EntityRendererRegistry.register(BoatismEntities.BOAT_ENGINE, BoatEngineEntityRenderer::new);
         EntityModelLayerRegistry.registerModelLayer(BOAT_ENGINE_LAYER, BoatEngineEntityModel::getTexturedModelData);
@@ -14,9 +14,15 @@ import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.Text;
 import net.shirojr.boatism.Boatism;
-import net.shirojr.boatism.entity.BoatismEntities;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
 import net.shirojr.boatism.network.BoatismNetworkIdentifiers;
 import net.shirojr.boatism.util.BoatEngineCoupler;
+import net.shirojr.boatism.util.BoatEngineHookQueue;
+import net.shirojr.boatism.util.BoatEngineOrphanSweeper;
+import net.shirojr.boatism.util.BoatEngineRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class BoatEngineEntityCommand {
     public static void register(CommandDispatcher<ServerCommandSource> dispatcher,
@@ -28,7 +34,9 @@ public class BoatEngineEntityCommand {
                                 .executes(BoatEngineEntityCommand::stopAllSoundInstances)))
                 .then(CommandManager.literal("entities").requires(serverCommandSource -> serverCommandSource.hasPermissionLevel(2))
                         .then(CommandManager.literal("remove")
-                                .executes(BoatEngineEntityCommand::removeBoatEngineEntities))));
+                                .executes(BoatEngineEntityCommand::removeBoatEngineEntities))
+                        .then(CommandManager.literal("status")
+                                .executes(BoatEngineEntityCommand::printBoatEngineStatus))));
         // .then(CommandManager.argument("entity", EntityArgumentType.entities()))
     }
 
@@ -43,14 +51,45 @@ public class BoatEngineEntityCommand {
     private static int removeBoatEngineEntities(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
         // var entities = context.getArgument("entity", EntitySelector.class).getEntities(context.getSource());
         Iterable<ServerWorld> serverWorlds = context.getSource().getServer().getWorlds();
-        serverWorlds.forEach(serverWorld -> serverWorld.getEntitiesByType(BoatismEntities.BOAT_ENGINE, boatEngine -> true)
-                .forEach(boatEngine -> {
-                    context.getSource().sendFeedback(() -> Text.literal(context.getSource().getName() +
-                            " removed " + boatEngine.toString()), true);
-                    boatEngine.getHookedBoatEntity().ifPresent(boatEntity ->
-                            ((BoatEngineCoupler) boatEntity).boatism$setBoatEngineEntity(null));
-                    boatEngine.remove(Entity.RemovalReason.DISCARDED);
-                }));
+        serverWorlds.forEach(serverWorld -> {
+            List<BoatEngineEntity> boatEngines = new ArrayList<>(BoatEngineRegistry.get(serverWorld).getEngines());
+            boatEngines.forEach(boatEngine -> {
+                context.getSource().sendFeedback(() -> Text.literal(context.getSource().getName() +
+                        " removed " + boatEngine.toString()), true);
+                boatEngine.getHookedBoatEntity().ifPresent(boatEntity ->
+                        ((BoatEngineCoupler) boatEntity).boatism$setBoatEngineEntity(null));
+                boatEngine.remove(Entity.RemovalReason.DISCARDED);
+            });
+        });
         return stopAllSoundInstances(context);
     }
+
+    private static int printBoatEngineStatus(CommandContext<ServerCommandSource> context) {
+        int totalEngines = 0;
+        for (ServerWorld serverWorld : context.getSource().getServer().getWorlds()) {
+            BoatEngineRegistry registry = BoatEngineRegistry.get(serverWorld);
+            BoatEngineHookQueue hookQueue = registry.getHookQueue();
+            if (registry.size() == 0 && hookQueue.size() == 0) continue;
+            int dormantEngines = 0;
+            for (BoatEngineEntity boatEngine : registry.getEngines()) {
+                if (boatEngine.isDormant()) dormantEngines++;
+            }
+            int activeEngines = registry.size() - dormantEngines;
+            int finalDormantEngines = dormantEngines;
+            context.getSource().sendFeedback(() -> Text.literal("%s: %s active | %s sleeping".formatted(
+                    serverWorld.getRegistryKey().getValue(), activeEngines, finalDormantEngines)), false);
+            context.getSource().sendFeedback(() -> Text.literal("  hooks: %s pending | %s resolved | %s reported | %s stale cleared".formatted(
+                    hookQueue.size(), hookQueue.getResolvedCount(), hookQueue.getReportedCount(),
+                    registry.getStaleLinksCleared())), false);
+            BoatEngineOrphanSweeper orphanSweeper = registry.getOrphanSweeper();
+            context.getSource().sendFeedback(() -> Text.literal("  orphans: %s found | %s pending | %s collected | %s rehomed | %s links repaired | last sweep %s µs".formatted(
+                    orphanSweeper.getOrphansFound(), orphanSweeper.getPendingOrphans(), orphanSweeper.getOrphansCollected(),
+                    orphanSweeper.getOrphansRehomed(), orphanSweeper.getLinksRepaired(),
+                    orphanSweeper.getLastSweepNanos() / 1000)), false);
+            totalEngines += registry.size();
+        }
+        int finalTotalEngines = totalEngines;
+        context.getSource().sendFeedback(() -> Text.literal("Loaded boat engines: " + finalTotalEngines), false);
+        return totalEngines;
+    }
 }
@@ -0,0 +1,46 @@
+package net.shirojr.boatism.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.command.CommandRegistryAccess;
+import net.minecraft.text.Text;
+import net.shirojr.boatism.Boatism;
+import net.shirojr.boatism.BoatismClient;
+import net.shirojr.boatism.entity.client.BoatEngineBatchRenderer;
+import net.shirojr.boatism.entity.client.BoatEngineMeshCache;
+import net.shirojr.boatism.sound.BoatismSoundManager;
+
+@Environment(EnvType.CLIENT)
+public class BoatismClientCommand {
+    public static void register(CommandDispatcher<FabricClientCommandSource> dispatcher,
+                                CommandRegistryAccess commandRegistryAccess) {
+        dispatcher.register(ClientCommandManager.literal(Boatism.MODID + "_client")
+                .then(ClientCommandManager.literal("sound")
+                        .then(ClientCommandManager.literal("status")
+                                .executes(BoatismClientCommand::printSoundStatus)))
+                .then(ClientCommandManager.literal("render")
+                        .then(ClientCommandManager.literal("status")
+                                .executes(BoatismClientCommand::printRenderStatus))));
+    }
+
+    private static int printSoundStatus(CommandContext<FabricClientCommandSource> context) {
+        BoatismSoundManager soundManager = BoatismClient.soundManager;
+        context.getSource().sendFeedback(Text.literal("SoundInstances - active: %s | reaped: %s | leaked: %s".formatted(
+                soundManager.getActiveCount(), soundManager.getReapedCount(), soundManager.getLeakedCount())));
+        return soundManager.getActiveCount();
+    }
+
+    private static int printRenderStatus(CommandContext<FabricClientCommandSource> context) {
+        BoatEngineMeshCache meshCache = BoatismClient.meshCache;
+        context.getSource().sendFeedback(Text.literal("Mesh cache - meshes: %s | hits: %s | misses: %s".formatted(
+                meshCache.size(), meshCache.getHits(), meshCache.getMisses())));
+        BoatEngineBatchRenderer batchRenderer = BoatismClient.batchRenderer;
+        context.getSource().sendFeedback(Text.literal("Batch rendering - enabled: %s | incompatible mods: %s | last batch: %s".formatted(
+                batchRenderer.isEnabled(), batchRenderer.hasIncompatibleMods(), batchRenderer.getLastBatchSize())));
+        return meshCache.size();
+    }
+}
@@ -24,4 +24,64 @@ public class BoatismConfig implements ConfigData {
     @Comment("Overheat limit")
     @ConfigEntry.Gui.RequiresRestart
     public int maxOverheat = 100;
+
+    @ConfigEntry.Category("network_sync")
+    @Comment("Fuel difference, which forces a sync to clients")
+    @ConfigEntry.Gui.RequiresRestart
+    public float fuelSyncStep = 10.0f;
+    @ConfigEntry.Category("network_sync")
+    @Comment("Overheat difference, which forces a sync to clients")
+    @ConfigEntry.Gui.RequiresRestart
+    public int overheatSyncStep = 5;
+    @ConfigEntry.Category("network_sync")
+    @Comment("Maximum seconds between two fuel or overheat syncs of a running engine")
+    @ConfigEntry.Gui.RequiresRestart
+    public int maxSyncInterval = 5;
+    @ConfigEntry.Category("network_sync")
+    @Comment("Seconds between two refreshes of the held engine sounds, so clients can restore lost sounds. 0 disables it")
+    public int soundRefreshInterval = 2;
+
+    @ConfigEntry.Category("orphan_sweep")
+    @Comment("What happens to boat engines, which aren't hooked to a boat anymore. KEEP only reports them, " +
+            "DROP drops them as an item and REHOME hooks them onto a nearby boat without engine, before dropping them")
+    @ConfigEntry.Gui.EnumHandler(option = ConfigEntry.Gui.EnumHandler.EnumDisplayOption.BUTTON)
+    public OrphanPolicy orphanPolicy = OrphanPolicy.KEEP;
+    @ConfigEntry.Category("orphan_sweep")
+    @Comment("Seconds, which a boat engine has to stay orphaned, before the orphan policy is applied")
+    public int orphanGraceSeconds = 60;
+    @ConfigEntry.Category("orphan_sweep")
+    @Comment("Maximum amount of boat engines, which are checked for orphans per tick and world")
+    public int orphanSweepEnginesPerTick = 8;
+    @ConfigEntry.Category("orphan_sweep")
+    @Comment("Maximum time in microseconds, which the orphan check may take per tick and world")
+    public int orphanSweepBudgetMicros = 250;
+
+    @ConfigEntry.Category("client_sound")
+    @Comment("Maximum amount of registered boat engine SoundInstances on the client")
+    public int maxSoundInstances = 256;
+    @ConfigEntry.Category("client_sound")
+    @Comment("Amount of boat engine voices, which are allowed to play at the same time. Less audible voices are virtualised")
+    public int maxEngineVoices = 24;
+
+    @ConfigEntry.Category("client_render")
+    @Comment("Amount of particles, which all boat engines together are allowed to emit per tick")
+    public int maxEngineParticlesPerTick = 64;
+    @ConfigEntry.Category("client_render")
+    @Comment("Boat engines within this distance are rendered with animations and equipped parts")
+    public int renderNearDistance = 24;
+    @ConfigEntry.Category("client_render")
+    @Comment("Boat engines within this distance are rendered without animations and equipped parts")
+    public int renderMidDistance = 48;
+    @ConfigEntry.Category("client_render")
+    @Comment("Boat engines within this distance are rendered without shadow. Boat engines further away are culled")
+    public int renderFarDistance = 96;
+    @ConfigEntry.Category("client_render")
+    @Comment("Draw distant boat engines in one batch after all entities. Is ignored, if shader mods are loaded")
+    public boolean batchEngineRendering = false;
+
+    public enum OrphanPolicy {
+        KEEP,
+        DROP,
+        REHOME
+    }
 }
@@ -0,0 +1,106 @@
+package net.shirojr.boatism.entity.client;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.util.math.MatrixStack;
+import net.shirojr.boatism.Boatism;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optional render path for boat engines, which are rendered without animations and equipped parts.<br>
+ * The {@link BoatEngineEntityRenderer} only collects those engines as instances with their transformation, light and
+ * propeller angle. After all entities have been rendered, the shared model geometry is drawn once per instance
+ * into a single {@link VertexConsumer} of the shared texture.<br>
+ * Engines are rendered by the regular entity pipeline, if batching is disabled in the config or if a mod is loaded,
+ * which replaces the entity render pipeline (e.g. shader mods).
+ */
+@Environment(EnvType.CLIENT)
+public class BoatEngineBatchRenderer {
+    private static final List<String> INCOMPATIBLE_MODS = List.of("iris", "optifabric");
+
+    private final boolean hasIncompatibleMods;
+    private final List<Instance> instances = new ArrayList<>();
+    @Nullable
+    private BoatEngineEntityModel<BoatEngineEntity> model;
+    @Nullable
+    private RenderLayer renderLayer;
+    private int lastBatchSize = 0;
+
+    public BoatEngineBatchRenderer() {
+        this.hasIncompatibleMods = INCOMPATIBLE_MODS.stream().anyMatch(FabricLoader.getInstance()::isModLoaded);
+    }
+
+    public boolean isEnabled() {
+        return Boatism.CONFIG.batchEngineRendering && !this.hasIncompatibleMods;
+    }
+
+    /**
+     * @param matrices matrix stack, which has already been transformed to the model space of the boat engine
+     */
+    public void add(BoatEngineEntityModel<BoatEngineEntity> model, RenderLayer renderLayer, BoatEngineEntity boatEngine,
+                    MatrixStack matrices, int light, int overlay, float tickDelta) {
+        this.model = model;
+        this.renderLayer = renderLayer;
+        MatrixStack.Entry entry = matrices.peek();
+        float propellerRoll = 0.0f;
+        if (boatEngine.isRunning()) {
+            propellerRoll = (boatEngine.age + tickDelta) * 0.6f * boatEngine.getPowerLevel();
+        }
+        this.instances.add(new Instance(new Matrix4f(entry.getPositionMatrix()), new Matrix3f(entry.getNormalMatrix()),
+                light, overlay, boatEngine.isLocked(), propellerRoll));
+    }
+
+    /**
+     * Draws all collected instances and starts the next batch
+     */
+    public void render(@Nullable VertexConsumerProvider vertexConsumers) {
+        this.lastBatchSize = this.instances.size();
+        if (vertexConsumers == null || this.model == null || this.renderLayer == null || this.instances.isEmpty()) {
+            this.instances.clear();
+            return;
+        }
+        VertexConsumer vertexConsumer = vertexConsumers.getBuffer(this.renderLayer);
+        MatrixStack matrices = new MatrixStack();
+        for (Instance instance : this.instances) {
+            matrices.push();
+            matrices.peek().getPositionMatrix().set(instance.positionMatrix());
+            matrices.peek().getNormalMatrix().set(instance.normalMatrix());
+            this.model.setStaticPose(instance.locked(), instance.propellerRoll());
+            this.model.render(matrices, vertexConsumer, instance.light(), instance.overlay(), 1.0f, 1.0f, 1.0f, 1.0f);
+            matrices.pop();
+        }
+        this.instances.clear();
+    }
+
+    /**
+     * Drops instances, which were collected for a frame that was never finished
+     */
+    public void clear() {
+        this.instances.clear();
+    }
+
+    /**
+     * @return amount of boat engines, which have been drawn in the last batch
+     */
+    public int getLastBatchSize() {
+        return this.lastBatchSize;
+    }
+
+    public boolean hasIncompatibleMods() {
+        return this.hasIncompatibleMods;
+    }
+
+    private record Instance(Matrix4f positionMatrix, Matrix3f normalMatrix, int light, int overlay,
+                            boolean locked, float propellerRoll) {
+    }
+}
@@ -17,6 +17,7 @@ public class BoatEngineEntityModel<T extends BoatEngineEntity> extends SinglePar
     private final ModelPart top;
     private final ModelPart rod;
     private final ModelPart propeller;
+    private BoatEngineRenderLod renderLod = BoatEngineRenderLod.NEAR;
 
     public BoatEngineEntityModel(ModelPart base) {
         super(RenderLayer::getEntityCutoutNoCull);
@@ -60,10 +61,12 @@ public class BoatEngineEntityModel<T extends BoatEngineEntity> extends SinglePar
                     float headYaw, float headPitch) {
             this.root.traverse().forEach(ModelPart::resetTransform);
 
-            float baseSpinSpeed = 3f;
-            float powerLevelMultiplier = entity.getPowerLevel() * 0.2f;
-            this.updateAnimation(entity.leftSpinAnimationState, BoatismAnimation.SPIN_LEFT,
-                            animationProgress, baseSpinSpeed * powerLevelMultiplier);
+            if (this.renderLod.equals(BoatEngineRenderLod.NEAR)) {
+                    float baseSpinSpeed = 3f;
+                    float powerLevelMultiplier = entity.getPowerLevel() * 0.2f;
+                    this.updateAnimation(entity.leftSpinAnimationState, BoatismAnimation.SPIN_LEFT,
+                                    animationProgress, baseSpinSpeed * powerLevelMultiplier);
+            }
 
             if (entity.isLocked()) {
                     this.root.pitch = 0.7f;
@@ -90,6 +93,28 @@ public class BoatEngineEntityModel<T extends BoatEngineEntity> extends SinglePar
     public ModelPart getPart() {
         return this.root;
     }
+
+    /**
+     * Sets the pose for batched rendering in the {@link BoatEngineBatchRenderer}, which doesn't run any animations
+     *
+     * @param propellerRoll additional roll of the propeller in radians
+     */
+    public void setStaticPose(boolean locked, float propellerRoll) {
+        this.root.traverse().forEach(ModelPart::resetTransform);
+        this.root.pitch = locked ? 0.7f : 0.0f;
+        this.propeller.roll += propellerRoll;
+    }
+
+    public BoatEngineRenderLod getRenderLod() {
+        return this.renderLod;
+    }
+
+    /**
+     * The model is shared by all boat engines, so this needs to be set before each engine is rendered
+     */
+    public void setRenderLod(BoatEngineRenderLod renderLod) {
+        this.renderLod = renderLod;
+    }
     /*
      * @Override
      * public Iterable<ModelPart> getParts() {
@@ -15,10 +15,9 @@ import net.minecraft.client.render.entity.model.PlayerEntityModel;
 import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.decoration.ArmorStandEntity;
 import net.minecraft.entity.vehicle.BoatEntity;
-import net.minecraft.particle.ParticleTypes;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
-import net.minecraft.util.math.random.Random;
+import net.minecraft.util.math.MathHelper;
 import net.shirojr.boatism.Boatism;
 import net.shirojr.boatism.BoatismClient;
 import net.shirojr.boatism.entity.custom.BoatEngineEntity;
@@ -27,9 +26,10 @@ import net.shirojr.boatism.util.BoatEngineHandler;
 public class BoatEngineEntityRenderer
         extends LivingEntityRenderer<BoatEngineEntity, BoatEngineEntityModel<BoatEngineEntity>> {
     private static final Identifier TEXTURE = new Identifier(Boatism.MODID, "textures/entity/boatengine.png");
+    private static final float SHADOW_RADIUS = 0.4f;
 
     public BoatEngineEntityRenderer(EntityRendererFactory.Context ctx) {
-        super(ctx, new BoatEngineEntityModel<>(ctx.getPart(BoatismClient.BOAT_ENGINE_LAYER)), 0.4f);
+        super(ctx, new BoatEngineEntityModel<>(ctx.getPart(BoatismClient.BOAT_ENGINE_LAYER)), SHADOW_RADIUS);
         this.addFeature(new EquipedPartFeatureRenderer<>(this, ctx.getItemRenderer()));
     }
 
@@ -41,37 +41,41 @@ public class BoatEngineEntityRenderer
     @Override
     public void render(BoatEngineEntity boatEngineEntity, float f, float g, MatrixStack matrixStack,
                        VertexConsumerProvider vertexConsumerProvider, int light) {
+        BoatEngineRenderLod renderLod = BoatEngineRenderLod.fromSquaredDistance(
+                this.dispatcher.getSquaredDistanceToCamera(boatEngineEntity));
+        this.getModel().setRenderLod(renderLod);
+        // the shadow is rendered by the dispatcher after this call
+        this.shadowRadius = renderLod.equals(BoatEngineRenderLod.FAR) ? 0.0f : SHADOW_RADIUS;
+        if (!renderLod.equals(BoatEngineRenderLod.NEAR) && BoatismClient.batchRenderer.isEnabled()) {
+            this.addToBatch(boatEngineEntity, g, matrixStack, light);
+            return;
+        }
         super.render(boatEngineEntity, f, g, matrixStack, vertexConsumerProvider, light);
+        // particles are emitted by the BoatEngineParticleEmitter once per client tick
+    }
 
-        Random random = boatEngineEntity.getWorld().getRandom();
-        //TODO: offset to main exhaust pipe
-        if (boatEngineEntity.getEngineHandler().isHeatingUp() && random.nextInt(20) == 0) {
-            boatEngineEntity.getWorld().addParticle(ParticleTypes.FLAME,
-                    boatEngineEntity.getX() + random.nextFloat() * 0.1f,
-                    boatEngineEntity.getY() + 0.4f + random.nextFloat() * 0.1f,
-                    boatEngineEntity.getZ() + random.nextFloat() * 0.1f,
-                    0.0f, 0.0f, 0.0f);
-        }
-        if (!boatEngineEntity.isRunning()) return;
-        if (boatEngineEntity.getPowerLevel() > 0) {
-            boatEngineEntity.getWorld().addParticle(ParticleTypes.BUBBLE,
-                    boatEngineEntity.getX() + random.nextFloat() * 0.1f,
-                    boatEngineEntity.getY() - 0.40f + random.nextFloat() * 0.1f,
-                    boatEngineEntity.getZ() + random.nextFloat() * 0.1f,
-                    0.0f, 0.0f, 0.0f);
-        }
-        //TODO: offset to main exhaust pipe
-        if (boatEngineEntity.getPowerLevel() > 4 && random.nextInt(20) == 0) {
-            boatEngineEntity.getWorld().addParticle(ParticleTypes.SMOKE,
-                    boatEngineEntity.getX() + random.nextFloat() * 0.1f,
-                    boatEngineEntity.getY() + 0.4f + random.nextFloat() * 0.1f,
-                    boatEngineEntity.getZ() + random.nextFloat() * 0.1f,
-                    0.0f, 0.0f, 0.0f);
-        }
+    /**
+     * Applies the same transformations as {@link LivingEntityRenderer#render} and hands the engine over to the
+     * {@link BoatEngineBatchRenderer}, instead of rendering the model right away
+     */
+    private void addToBatch(BoatEngineEntity boatEngineEntity, float tickDelta, MatrixStack matrixStack, int light) {
+        matrixStack.push();
+        float bodyYaw = MathHelper.lerpAngleDegrees(tickDelta, boatEngineEntity.prevBodyYaw, boatEngineEntity.bodyYaw);
+        float animationProgress = this.getAnimationProgress(boatEngineEntity, tickDelta);
+        this.setupTransforms(boatEngineEntity, matrixStack, animationProgress, bodyYaw, tickDelta);
+        matrixStack.scale(-1.0f, -1.0f, 1.0f);
+        this.scale(boatEngineEntity, matrixStack, tickDelta);
+        matrixStack.translate(0.0f, -1.501f, 0.0f);
+        int overlay = getOverlay(boatEngineEntity, this.getAnimationCounter(boatEngineEntity, tickDelta));
+        BoatismClient.batchRenderer.add(this.getModel(), this.getModel().getLayer(TEXTURE), boatEngineEntity,
+                matrixStack, light, overlay, tickDelta);
+        matrixStack.pop();
     }
 
     @Override
     public boolean shouldRender(BoatEngineEntity entity, Frustum frustum, double x, double y, double z) {
+        double squaredDistance = entity.squaredDistanceTo(x, y, z);
+        if (BoatEngineRenderLod.fromSquaredDistance(squaredDistance).equals(BoatEngineRenderLod.CULLED)) return false;
         return super.shouldRender(entity, frustum, x, y, z);
     }
 
@@ -0,0 +1,167 @@
+package net.shirojr.boatism.entity.client;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.render.RenderLayer;
+import net.minecraft.client.render.RenderLayers;
+import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.render.item.ItemRenderer;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.BakedQuad;
+import net.minecraft.client.render.model.json.ModelTransformationMode;
+import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix3f;
+import org.joml.Matrix4f;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the baked quads of the equipped parts of boat engines, keyed by their component combination.<br>
+ * Item model lookup and model transformation only happen once per combination. Rendering a cached
+ * {@link Mesh} only emits its quads into the vertex consumers of the item render layers, which are drawn
+ * together with all other engines of the frame.<br>
+ * Every engine remembers its last mesh together with its {@link net.shirojr.boatism.util.BoatEngineStats#version()
+ * stats version}, so the combination only needs to be looked up again after the equipment has changed.
+ */
+@Environment(EnvType.CLIENT)
+public class BoatEngineMeshCache {
+    private static final int MAX_MESHES = 256;
+
+    private final Map<List<PartKey>, Mesh> meshes = new HashMap<>();
+    private final Int2ObjectMap<EngineEntry> engineEntries = new Int2ObjectOpenHashMap<>();
+    private long hits = 0, misses = 0;
+
+    public Mesh getMesh(BoatEngineEntity boatEngine, ItemRenderer itemRenderer) {
+        int version = boatEngine.getEngineHandler().getStats().version();
+        EngineEntry engineEntry = this.engineEntries.get(boatEngine.getId());
+        if (engineEntry != null && engineEntry.boatEngine() == boatEngine && engineEntry.version() == version) {
+            this.hits++;
+            return engineEntry.mesh();
+        }
+
+        List<ItemStack> stacks = new ArrayList<>();
+        boatEngine.getArmorItems().forEach(stacks::add);
+        boatEngine.getHeldItems().forEach(stacks::add);
+        List<PartKey> key = PartKey.of(stacks);
+        Mesh mesh = this.meshes.get(key);
+        if (mesh == null) {
+            this.misses++;
+            if (this.meshes.size() >= MAX_MESHES) this.clearMeshes();
+            mesh = Mesh.bake(stacks, itemRenderer, boatEngine.getWorld());
+            this.meshes.put(key, mesh);
+        } else {
+            this.hits++;
+        }
+        this.engineEntries.put(boatEngine.getId(), new EngineEntry(boatEngine, version, mesh));
+        return mesh;
+    }
+
+    /**
+     * Forgets the meshes of removed boat engines
+     */
+    public void tick() {
+        this.engineEntries.values().removeIf(engineEntry -> engineEntry.boatEngine().isRemoved());
+    }
+
+    /**
+     * Needs to be called when the item models have been reloaded
+     */
+    public void clearMeshes() {
+        this.meshes.clear();
+        this.engineEntries.clear();
+    }
+
+    public int size() {
+        return this.meshes.size();
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    private record EngineEntry(BoatEngineEntity boatEngine, int version, Mesh mesh) {
+    }
+
+    private record PartKey(Item item, @Nullable NbtCompound nbt) {
+        private static List<PartKey> of(List<ItemStack> stacks) {
+            List<PartKey> key = new ArrayList<>(stacks.size());
+            for (ItemStack stack : stacks) {
+                NbtCompound nbt = stack.getNbt();
+                key.add(new PartKey(stack.getItem(), nbt == null ? null : nbt.copy()));
+            }
+            return key;
+        }
+    }
+
+    record MeshPart(RenderLayer renderLayer, boolean hasGlint, Matrix4f positionMatrix, Matrix3f normalMatrix,
+                            List<BakedQuad> quads) {
+    }
+
+    /**
+     * Baked equipped parts of one component combination.<br>
+     * Builtin and tinted item models can't be baked, so their stacks are still rendered by the {@link ItemRenderer}.
+     */
+    public record Mesh(List<MeshPart> parts, List<ItemStack> unbakedStacks) {
+        private static Mesh bake(List<ItemStack> stacks, ItemRenderer itemRenderer, World world) {
+            List<MeshPart> parts = new ArrayList<>();
+            List<ItemStack> unbakedStacks = new ArrayList<>();
+            Random random = Random.create();
+            for (ItemStack stack : stacks) {
+                if (stack.isEmpty()) continue;
+                BakedModel model = itemRenderer.getModel(stack, world, null, 0);
+                List<BakedQuad> quads = new ArrayList<>();
+                for (Direction direction : Direction.values()) {
+                    random.setSeed(42L);
+                    quads.addAll(model.getQuads(null, direction, random));
+                }
+                random.setSeed(42L);
+                quads.addAll(model.getQuads(null, null, random));
+                if (model.isBuiltin() || quads.stream().anyMatch(BakedQuad::hasColor)) {
+                    unbakedStacks.add(stack.copy());
+                    continue;
+                }
+
+                MatrixStack bakedTransformation = new MatrixStack();
+                model.getTransformation().getTransformation(ModelTransformationMode.FIXED).apply(false, bakedTransformation);
+                bakedTransformation.translate(-0.5f, -0.5f, -0.5f);
+                MatrixStack.Entry entry = bakedTransformation.peek();
+                parts.add(new MeshPart(RenderLayers.getItemLayer(stack, false), stack.hasGlint(),
+                        new Matrix4f(entry.getPositionMatrix()), new Matrix3f(entry.getNormalMatrix()), List.copyOf(quads)));
+            }
+            return new Mesh(List.copyOf(parts), List.copyOf(unbakedStacks));
+        }
+
+        public void render(MatrixStack matrices, VertexConsumerProvider vertexConsumers, int light, int overlay) {
+            for (MeshPart part : this.parts) {
+                VertexConsumer vertexConsumer = ItemRenderer.getItemGlintConsumer(vertexConsumers, part.renderLayer(),
+                        true, part.hasGlint());
+                matrices.push();
+                MatrixStack.Entry entry = matrices.peek();
+                entry.getPositionMatrix().mul(part.positionMatrix());
+                entry.getNormalMatrix().mul(part.normalMatrix());
+                for (BakedQuad quad : part.quads()) {
+                    vertexConsumer.quad(entry, quad, 1.0f, 1.0f, 1.0f, light, overlay);
+                }
+                matrices.pop();
+            }
+        }
+    }
+}
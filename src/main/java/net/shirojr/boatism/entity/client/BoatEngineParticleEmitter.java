@@ -0,0 +1,139 @@
+package net.shirojr.boatism.entity.client;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.particle.ParticleTypes;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.random.Random;
+import net.shirojr.boatism.Boatism;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import net.shirojr.boatism.util.BoatEngineRegistry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Emits the particles of all boat engines once per client tick, instead of once per rendered frame.<br>
+ * Every engine has its own emitter, which accumulates the emission rates of its particles. The rates are scaled
+ * down for engines further away from the camera and engines out of range don't emit anything.
+ * All engines share a particle budget per tick, which is spent on the closest engines first.
+ */
+@Environment(EnvType.CLIENT)
+public class BoatEngineParticleEmitter {
+    private static final double NEAR_DISTANCE = 16.0, FAR_DISTANCE = 48.0;
+    private static final float MID_RANGE_RATE = 0.25f;
+    private static final float BUBBLE_RATE = 1.0f, FLAME_RATE = 0.15f, SMOKE_RATE = 0.15f;
+    /**
+     * Top of the exhaust pipe of the {@link BoatEngineEntityModel} relative to the engine's position, before the body
+     * yaw is applied. Already includes the scale of the {@link BoatEngineEntityRenderer}.
+     */
+    private static final double EXHAUST_X = 0.14, EXHAUST_Y = 0.75, EXHAUST_Z = 0.52;
+    private static final float BUBBLE_Y_OFFSET = -0.4f;
+
+    private final MinecraftClient client = MinecraftClient.getInstance();
+    private final Int2ObjectMap<Emitter> emitters = new Int2ObjectOpenHashMap<>();
+    private final List<BoatEngineEntity> emittingEngines = new ArrayList<>();
+    private Vec3d cameraPos = Vec3d.ZERO;
+    private final Comparator<BoatEngineEntity> cameraDistanceOrder =
+            Comparator.comparingDouble(boatEngine -> boatEngine.squaredDistanceTo(this.cameraPos));
+
+    public void tick(ClientWorld world) {
+        this.emitters.values().removeIf(emitter -> emitter.boatEngine.isRemoved() || emitter.boatEngine.getWorld() != world);
+        if (this.client.isPaused()) return;
+        this.cameraPos = this.client.gameRenderer.getCamera().getPos();
+
+        for (BoatEngineEntity boatEngine : BoatEngineRegistry.get(world).getEngines()) {
+            if (boatEngine.squaredDistanceTo(this.cameraPos) > FAR_DISTANCE * FAR_DISTANCE) continue;
+            this.emittingEngines.add(boatEngine);
+        }
+        this.emittingEngines.sort(this.cameraDistanceOrder);
+
+        int particleBudget = Boatism.CONFIG.maxEngineParticlesPerTick;
+        for (BoatEngineEntity boatEngine : this.emittingEngines) {
+            Emitter emitter = this.emitters.get(boatEngine.getId());
+            if (emitter == null || emitter.boatEngine != boatEngine) {
+                emitter = new Emitter(boatEngine);
+                this.emitters.put(boatEngine.getId(), emitter);
+            }
+            boolean isNear = boatEngine.squaredDistanceTo(this.cameraPos) <= NEAR_DISTANCE * NEAR_DISTANCE;
+            particleBudget -= emitter.tick(world, isNear ? 1.0f : MID_RANGE_RATE, particleBudget);
+        }
+        this.emittingEngines.clear();
+    }
+
+    public void clear() {
+        this.emitters.clear();
+    }
+
+    private static class Emitter {
+        private final BoatEngineEntity boatEngine;
+        private float flames, bubbles, smoke;
+        private double exhaustX, exhaustY, exhaustZ;
+
+        private Emitter(BoatEngineEntity boatEngine) {
+            this.boatEngine = boatEngine;
+        }
+
+        /**
+         * @return amount of emitted particles
+         */
+        private int tick(ClientWorld world, float rateModifier, int particleBudget) {
+            boolean isRunning = this.boatEngine.isRunning();
+            int powerLevel = this.boatEngine.getPowerLevel();
+            if (this.boatEngine.getEngineHandler().isHeatingUp()) this.flames += FLAME_RATE * rateModifier;
+            if (isRunning && powerLevel > 0) this.bubbles += BUBBLE_RATE * rateModifier;
+            if (isRunning && powerLevel > 4) this.smoke += SMOKE_RATE * rateModifier;
+
+            int emittedParticles = 0;
+            Random random = world.getRandom();
+            if (this.flames >= 1.0f || this.smoke >= 1.0f) this.updateExhaustPos();
+            while (this.flames >= 1.0f && emittedParticles < particleBudget) {
+                this.flames--;
+                emittedParticles++;
+                this.addParticle(world, random, ParticleTypes.FLAME, this.exhaustX, this.exhaustY, this.exhaustZ);
+            }
+            while (this.bubbles >= 1.0f && emittedParticles < particleBudget) {
+                this.bubbles--;
+                emittedParticles++;
+                this.addParticle(world, random, ParticleTypes.BUBBLE, this.boatEngine.getX(),
+                        this.boatEngine.getY() + BUBBLE_Y_OFFSET, this.boatEngine.getZ());
+            }
+            while (this.smoke >= 1.0f && emittedParticles < particleBudget) {
+                this.smoke--;
+                emittedParticles++;
+                this.addParticle(world, random, ParticleTypes.SMOKE, this.exhaustX, this.exhaustY, this.exhaustZ);
+            }
+            // particles, which didn't fit into the budget, are dropped instead of piling up
+            this.flames = Math.min(this.flames, 1.0f);
+            this.bubbles = Math.min(this.bubbles, 1.0f);
+            this.smoke = Math.min(this.smoke, 1.0f);
+            return emittedParticles;
+        }
+
+        /**
+         * Rotates the exhaust offset the same way as the renderer rotates the model, by {@code 180 - bodyYaw}
+         */
+        private void updateExhaustPos() {
+            float yawRadians = this.boatEngine.getBodyYaw() * MathHelper.RADIANS_PER_DEGREE;
+            float sin = MathHelper.sin(yawRadians), cos = MathHelper.cos(yawRadians);
+            this.exhaustX = this.boatEngine.getX() - EXHAUST_X * cos + EXHAUST_Z * sin;
+            this.exhaustY = this.boatEngine.getY() + EXHAUST_Y;
+            this.exhaustZ = this.boatEngine.getZ() - EXHAUST_X * sin - EXHAUST_Z * cos;
+        }
+
+        private void addParticle(ClientWorld world, Random random, ParticleEffect particle, double x, double y, double z) {
+            world.addParticle(particle,
+                    x + random.nextFloat() * 0.1f,
+                    y + random.nextFloat() * 0.1f,
+                    z + random.nextFloat() * 0.1f,
+                    0.0f, 0.0f, 0.0f);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package net.shirojr.boatism.entity.client;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.shirojr.boatism.Boatism;
+
+/**
+ * Level of detail of a rendered boat engine, based on its distance to the camera.
+ */
+@Environment(EnvType.CLIENT)
+public enum BoatEngineRenderLod {
+    /**
+     * Model with animations and equipped parts
+     */
+    NEAR,
+    /**
+     * Static model without equipped parts
+     */
+    MID,
+    /**
+     * Static model without equipped parts and shadow
+     */
+    FAR,
+    /**
+     * Not rendered at all
+     */
+    CULLED;
+
+    public static BoatEngineRenderLod fromSquaredDistance(double squaredDistance) {
+        if (squaredDistance <= square(Boatism.CONFIG.renderNearDistance)) return NEAR;
+        if (squaredDistance <= square(Boatism.CONFIG.renderMidDistance)) return MID;
+        if (squaredDistance <= square(Boatism.CONFIG.renderFarDistance)) return FAR;
+        return CULLED;
+    }
+
+    private static double square(double distance) {
+        return distance * distance;
+    }
+}
@@ -11,6 +11,7 @@ import net.minecraft.client.util.math.MatrixStack;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.world.World;
+import net.shirojr.boatism.BoatismClient;
 import net.shirojr.boatism.entity.custom.BoatEngineEntity;
 
 public class EquipedPartFeatureRenderer<T extends LivingEntity, M extends EntityModel<T>>
@@ -26,13 +27,12 @@ public class EquipedPartFeatureRenderer<T extends LivingEntity, M extends Entity
     public void render(MatrixStack matrices, VertexConsumerProvider vertexConsumers, int light, T entity,
                        float limbAngle, float limbDistance, float tickDelta, float animationProgress, float headYaw, float headPitch) {
         if (!(entity instanceof BoatEngineEntity boatEngine)) return;
+        if (this.getContextModel() instanceof BoatEngineEntityModel<?> model
+                && !model.getRenderLod().equals(BoatEngineRenderLod.NEAR)) return;
         //int lightLevel = boatEngine.getWorld().getLightLevel(LightType.SKY, boatEngine.getBlockPos());
-        for (ItemStack stack : boatEngine.getArmorItems()) {
-            if (stack.isEmpty()) continue;
-            this.renderItem(stack, light, matrices, vertexConsumers, boatEngine.getWorld(), boatEngine.getId());
-        }
-        for (ItemStack stack : boatEngine.getHeldItems()) {
-            if (stack.isEmpty()) continue;
+        BoatEngineMeshCache.Mesh mesh = BoatismClient.meshCache.getMesh(boatEngine, this.itemRenderer);
+        mesh.render(matrices, vertexConsumers, light, OverlayTexture.DEFAULT_UV);
+        for (ItemStack stack : mesh.unbakedStacks()) {
             this.renderItem(stack, light, matrices, vertexConsumers, boatEngine.getWorld(), boatEngine.getId());
         }
     }
@@ -11,9 +11,9 @@ import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.effect.StatusEffects;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.vehicle.BoatEntity;
+import net.minecraft.fluid.FluidState;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.nbt.NbtElement;
 import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
@@ -24,7 +24,6 @@ import net.minecraft.util.Arm;
 import net.minecraft.util.Hand;
 import net.minecraft.util.collection.DefaultedList;
 import net.minecraft.util.math.EulerAngle;
-import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraft.world.explosion.Explosion;
 import net.shirojr.boatism.Boatism;
@@ -50,6 +49,11 @@ public class BoatEngineEntity extends LivingEntity {
     private static final TrackedData<Boolean> RUNNING = DataTracker.registerData(BoatEngineEntity.class, TrackedDataHandlerRegistry.BOOLEAN);
     private static final TrackedData<Float> FUEL = DataTracker.registerData(BoatEngineEntity.class, TrackedDataHandlerRegistry.FLOAT);
     private static final TrackedData<Boolean> LOCKED = DataTracker.registerData(BoatEngineEntity.class, TrackedDataHandlerRegistry.BOOLEAN);
+    private static final TrackedData<Float> FUEL_RATE = DataTracker.registerData(BoatEngineEntity.class, TrackedDataHandlerRegistry.FLOAT);
+    private static final TrackedData<Float> OVERHEAT_RATE = DataTracker.registerData(BoatEngineEntity.class, TrackedDataHandlerRegistry.FLOAT);
+    private static final int TICKS_UNTIL_DORMANT = 40;
+    private static final int DORMANT_FLUID_CHECK_INTERVAL = 10;
+    private static final double DORMANT_BOAT_MOVEMENT_THRESHOLD = 0.001;
 
     public final AnimationState rightSpinAnimationState = new AnimationState();
     public final AnimationState leftSpinAnimationState = new AnimationState();
@@ -57,14 +61,30 @@ public class BoatEngineEntity extends LivingEntity {
 
     @Nullable
     private UUID hookedBoatEntityUuid;
+    @Nullable
+    private BoatEntity hookedBoatEntity;
     @NotNull
     private final BoatEngineHandler engineHandler;
     private int previousPowerLevel = 0;
-    private Vec3d previousLocation = Vec3d.ZERO;
+    private double previousX, previousY, previousZ;
+    private boolean dormant = false;
+    private int idleTicks = 0, dormantTicks = 0;
+    private double lastBoatX = Double.NaN, lastBoatZ = Double.NaN;
+    private boolean hookedBoatMoving = false;
+    @Nullable
+    private FluidState dormantFluidState;
+    private float fuel = 0.0f;
+    private int overheat = 0;
+    private final int maxSyncInterval = Boatism.CONFIG.maxSyncInterval * 20;
+    private final TrackedValueSync fuelSync = new TrackedValueSync(Boatism.CONFIG.fuelSyncStep, maxSyncInterval,
+            Float.MIN_VALUE, 5.0f, BoatEngineHandler.MAX_BASE_FUEL * 0.2f);
+    private final TrackedValueSync overheatSync = new TrackedValueSync(Boatism.CONFIG.overheatSyncStep, maxSyncInterval,
+            1, 11, BoatEngineHandler.MAX_OVERHEAT + 1);
+    private int ticksSinceFuelSync = 0, ticksSinceOverheatSync = 0;
 
     public BoatEngineEntity(EntityType<? extends LivingEntity> entityType, World world) {
         super(entityType, world);
-        this.engineHandler = BoatEngineHandler.create(this, this.heldItems, this.armorItems);
+        this.engineHandler = BoatEngineHandler.create(this);
         this.setNoGravity(true);
         this.setStepHeight(0.0f);
     }
@@ -78,7 +98,7 @@ public class BoatEngineEntity extends LivingEntity {
         this(BoatismEntities.BOAT_ENGINE, world);
         this.setPos(hookedBoatEntity.getX(), hookedBoatEntity.getY(), hookedBoatEntity.getZ());
         this.hookOntoBoatEntity(hookedBoatEntity);
-        this.previousLocation = hookedBoatEntity.getPos();
+        this.setPreviousLocation(hookedBoatEntity.getX(), hookedBoatEntity.getY(), hookedBoatEntity.getZ());
     }
 
     @Override
@@ -91,6 +111,8 @@ public class BoatEngineEntity extends LivingEntity {
         this.dataTracker.startTracking(FUEL, 0.0f);
         this.dataTracker.startTracking(LOCKED, false);
         this.dataTracker.startTracking(RUNNING, false);
+        this.dataTracker.startTracking(FUEL_RATE, 0.0f);
+        this.dataTracker.startTracking(OVERHEAT_RATE, 0.0f);
     }
 
     public static DefaultAttributeContainer.Builder setAttributes() {
@@ -113,78 +135,182 @@ public class BoatEngineEntity extends LivingEntity {
     @Override
     public void writeCustomDataToNbt(NbtCompound nbt) {
         super.writeCustomDataToNbt(nbt);
-        getHookedBoatEntityUuid().ifPresent(hookedBoatEntityUuid ->
-                nbt.putUuid(NbtKeys.HOOKED_ENTITY, hookedBoatEntityUuid));
-        BoatEngineNbtHelper.writeItemStacksToNbt(this.armorItems, NbtKeys.ARMOR_ITEMS, nbt);
-        BoatEngineNbtHelper.writeItemStacksToNbt(this.heldItems, NbtKeys.HELD_ITEMS, nbt);
-        nbt.putInt(NbtKeys.POWER_OUTPUT, this.getPowerLevel());
-        nbt.putInt(NbtKeys.OVERHEAT, this.getOverheat());
-        nbt.put(NbtKeys.ROTATION, this.getArmRotation().toNbt());
-        nbt.putBoolean(NbtKeys.IS_SUBMERGED, this.isSubmerged());
-        nbt.putFloat(NbtKeys.FUEL, this.getFuel());
-        nbt.putBoolean(NbtKeys.IS_LOCKED, this.isLocked());
+        BoatEngineData.of(this).writeNbt(nbt);
     }
 
     @Override
     public void readCustomDataFromNbt(NbtCompound nbt) {
         super.readCustomDataFromNbt(nbt);
-        if (nbt.contains(NbtKeys.HOOKED_ENTITY)) {
-            this.setHookedBoatEntity(nbt.getUuid(NbtKeys.HOOKED_ENTITY));
-        }
-        if (nbt.contains(NbtKeys.ARMOR_ITEMS)) {
-            this.armorItems = BoatEngineNbtHelper.readItemStacksFromNbt(nbt, NbtKeys.ARMOR_ITEMS, 4);
-        }
-        if (nbt.contains("HandItems")) {
-            this.heldItems = BoatEngineNbtHelper.readItemStacksFromNbt(nbt, NbtKeys.HELD_ITEMS, 2);
-        }
-        this.setPowerLevel(Math.min(nbt.getInt(NbtKeys.POWER_OUTPUT), BoatEngineHandler.MAX_POWER_LEVEL / 2));
-        this.setOverheat(nbt.getInt(NbtKeys.OVERHEAT));
-        this.setArmRotation(new EulerAngle(nbt.getList(NbtKeys.ROTATION, NbtElement.FLOAT_TYPE)));
-        this.setSubmerged(nbt.getBoolean(NbtKeys.IS_SUBMERGED));
-        this.setFuel(nbt.getFloat(NbtKeys.FUEL));
-        this.setLocked(nbt.getBoolean(NbtKeys.IS_LOCKED));
+        BoatEngineData.fromNbt(nbt).ifPresent(data -> {
+            data.hookedEntity().ifPresent(this::setHookedBoatEntity);
+            data.applyTo(this);
+        });
+        this.engineHandler.refreshStats();
     }
 
     @Override
     public void tick() {
         //LoggerUtil.devLogger("is running: %s | client side: %s".formatted(isRunning(), this.getWorld().isClient()));
+        if (!this.getWorld().isClient() && this.tickDormancy()) {
+            this.engineHandler.flushSoundStateChanges();
+            return;
+        }
         super.tick();
         this.setNoGravity(true);
         if (this.getWorld().isClient()) {
+            this.ticksSinceFuelSync++;
+            this.ticksSinceOverheatSync++;
             this.updateAnimationStates();
             return;
         }
         if (isRunning()) {
-            this.getHookedBoatEntity().ifPresent(boatEntity -> {
-                double actualSpeed = Math.max(0, this.previousLocation.distanceTo(this.getPos()));
-                if (isLogicalSideForUpdatingMovement()) {
-                    if (!boatEntity.isOnGround()) {
-                        Vec3d newVelocity = boatEntity.getRotationVector().multiply(1.0, 0.0, 1.0).normalize()
-                                .multiply(getPowerLevel() * 0.1).multiply(engineHandler.calculateThrustModifier(boatEntity));
-                        if (boatEntity.getVelocity().horizontalLength() < newVelocity.horizontalLength()) {
-                            boatEntity.addVelocity(newVelocity/* originalVelocity.multiply(newVelocity)*/);
-                        }
-                        // boatEntity.setVelocity(newVelocity/* originalVelocity.multiply(newVelocity)*/);
-                    } else {
-                        setOverheat(getOverheat() + 4);
-                    }
-                    boatEntity.velocityModified = true;
-                    boatEntity.velocityDirty = true;
-                }
-
-                if (getPowerLevel() > 3 && actualSpeed < 0.1) {
-                    setOverheat(getOverheat() + 2);
-                }
-            });
-            this.previousLocation = this.getPos();
+            BoatEntity boatEntity = this.resolveHookedBoatEntity();
+            if (boatEntity != null) this.tickHookedBoatEntity(boatEntity);
+            this.setPreviousLocation(this.getX(), this.getY(), this.getZ());
         }
 
         this.engineHandler.setSubmerged(this.submergedInWater);
         this.engineHandler.incrementTick();
+        this.engineHandler.flushSoundStateChanges();
+        this.syncTrackedValues();
+    }
+
+    private void tickHookedBoatEntity(BoatEntity boatEntity) {
+        double deltaX = this.getX() - this.previousX;
+        double deltaY = this.getY() - this.previousY;
+        double deltaZ = this.getZ() - this.previousZ;
+        double actualSpeedSquared = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+        if (isLogicalSideForUpdatingMovement()) {
+            if (!boatEntity.isOnGround()) {
+                this.engineHandler.applyThrust(boatEntity);
+            } else {
+                setOverheat(getOverheat() + 4);
+            }
+            boatEntity.velocityModified = true;
+            boatEntity.velocityDirty = true;
+        }
+
+        if (getPowerLevel() > 3 && actualSpeedSquared < 0.1 * 0.1) {
+            setOverheat(getOverheat() + 2);
+        }
+    }
+
+    private void setPreviousLocation(double x, double y, double z) {
+        this.previousX = x;
+        this.previousY = y;
+        this.previousZ = z;
+    }
+
+    /**
+     * Fuel and overheat change almost every tick, so they are only written to the DataTracker, when the
+     * clients' extrapolation would drift too far. Check out {@link TrackedValueSync} for more information.
+     */
+    private void syncTrackedValues() {
+        if (this.fuelSync.tick(this.fuel)) {
+            this.dataTracker.set(FUEL, this.fuel);
+            this.dataTracker.set(FUEL_RATE, this.fuelSync.getSyncedRate());
+        }
+        if (this.overheatSync.tick(this.overheat)) {
+            this.dataTracker.set(OVERHEAT, this.overheat);
+            this.dataTracker.set(OVERHEAT_RATE, this.overheatSync.getSyncedRate());
+        }
+    }
+
+    /**
+     * Should be used, if fuel or overheat values have been changed outside the regular simulation.
+     */
+    public void forceTrackedValueSync() {
+        this.fuelSync.markDirty();
+        this.overheatSync.markDirty();
+    }
+
+    @Override
+    public void onTrackedDataSet(TrackedData<?> data) {
+        super.onTrackedDataSet(data);
+        if (FUEL.equals(data) || FUEL_RATE.equals(data)) this.ticksSinceFuelSync = 0;
+        if (OVERHEAT.equals(data) || OVERHEAT_RATE.equals(data)) this.ticksSinceOverheatSync = 0;
+    }
+
+    //region dormancy
+    /**
+     * Idle engines stop simulating themselves, until they are woken up again by {@link #wakeUp()}, a moving boat
+     * or a changed fluid at their position.
+     *
+     * @return true, if the engine is dormant and the rest of the tick should be skipped
+     */
+    private boolean tickDormancy() {
+        this.trackHookedBoatMovement();
+        if (this.dormant) {
+            if (!this.shouldWakeUp()) return true;
+            this.wakeUp();
+            return false;
+        }
+        if (!this.isIdle()) {
+            this.idleTicks = 0;
+            return false;
+        }
+        if (++this.idleTicks < TICKS_UNTIL_DORMANT) return false;
+        this.dormant = true;
+        this.dormantTicks = 0;
+        this.dormantFluidState = this.getWorld().getFluidState(this.getBlockPos());
+        return true;
+    }
+
+    private boolean isIdle() {
+        if (this.isRunning() || this.getOverheat() > 0) return false;
+        if (this.submergedInWater || this.isSubmerged()) return false;
+        if (this.hurtTime > 0 || this.isDead() || this.isOnFire()) return false;
+        return !this.isHookedBoatMoving();
+    }
+
+    private boolean shouldWakeUp() {
+        if (this.isHookedBoatMoving()) return true;
+        if (++this.dormantTicks % DORMANT_FLUID_CHECK_INTERVAL != 0) return false;
+        return this.getWorld().getFluidState(this.getBlockPos()) != this.dormantFluidState;
+    }
+
+    /**
+     * Compares the hooked boat's position with its position of the last tick. Its velocity can't be used, since
+     * the server resets it to zero for boats, which are driven by a player.
+     */
+    private void trackHookedBoatMovement() {
+        BoatEntity boatEntity = this.resolveHookedBoatEntity();
+        if (boatEntity == null) {
+            this.hookedBoatMoving = false;
+            this.lastBoatX = Double.NaN;
+            this.lastBoatZ = Double.NaN;
+            return;
+        }
+        double deltaX = boatEntity.getX() - this.lastBoatX;
+        double deltaZ = boatEntity.getZ() - this.lastBoatZ;
+        // the first tick after hooking compares against NaN and doesn't count as moving
+        this.hookedBoatMoving = deltaX * deltaX + deltaZ * deltaZ > DORMANT_BOAT_MOVEMENT_THRESHOLD;
+        this.lastBoatX = boatEntity.getX();
+        this.lastBoatZ = boatEntity.getZ();
+    }
+
+    private boolean isHookedBoatMoving() {
+        return this.hookedBoatMoving;
+    }
+
+    /**
+     * Continues the simulation of a dormant engine. Should be called by any interaction, which changes the
+     * engine's state.
+     */
+    public void wakeUp() {
+        this.dormant = false;
+        this.idleTicks = 0;
+        this.dormantFluidState = null;
+    }
+
+    public boolean isDormant() {
+        return this.dormant;
     }
+    //endregion
 
     @Override
     public ActionResult interact(PlayerEntity player, Hand hand) {
+        this.wakeUp();
         if (player.getStackInHand(hand).isEmpty() && player.isSneaking()) {
             if (!this.getWorld().isClient()) {
                 if (!engineHandler.engineIsRunning()) engineHandler.startEngine();
@@ -198,17 +324,53 @@ public class BoatEngineEntity extends LivingEntity {
 
     @Override
     public void onStartedTrackingBy(ServerPlayerEntity player) {
-        this.engineHandler.soundStateChange(List.of(SoundInstanceIdentifier.ENGINE_RUNNING,
-                SoundInstanceIdentifier.ENGINE_LOW_FUEL, SoundInstanceIdentifier.ENGINE_OVERHEATING));
+        this.engineHandler.sendInitialSoundStates(player);
         super.onStartedTrackingBy(player);
     }
 
+    @Override
+    public void onStoppedTrackingBy(ServerPlayerEntity player) {
+        this.engineHandler.clearSentSoundStates(player);
+        super.onStoppedTrackingBy(player);
+    }
+
     //region getter & setter
     public Optional<BoatEntity> getHookedBoatEntity() {
-        if (!(this.getWorld() instanceof ServerWorld serverWorld)) return Optional.empty();
-        Entity entity = serverWorld.getEntity(this.hookedBoatEntityUuid);
-        if (!(entity instanceof BoatEntity boatEntity)) return Optional.empty();
-        return Optional.of(boatEntity);
+        return Optional.ofNullable(this.resolveHookedBoatEntity());
+    }
+
+    /**
+     * Returns the cached hooked BoatEntity, as long as it is still loaded in the same world as the engine.<br>
+     * Otherwise, the boat is resolved again, first from the riding relationship and only then by its UUID.
+     */
+    @Nullable
+    public BoatEntity resolveHookedBoatEntity() {
+        BoatEntity cachedBoatEntity = this.hookedBoatEntity;
+        if (cachedBoatEntity != null) {
+            if (!cachedBoatEntity.isRemoved() && cachedBoatEntity.getWorld() == this.getWorld()) {
+                return cachedBoatEntity;
+            }
+            this.hookedBoatEntity = null;
+        }
+        if (this.getVehicle() instanceof BoatEntity boatEntity && this.isHookedTo(boatEntity)) {
+            this.hookedBoatEntity = boatEntity;
+            return boatEntity;
+        }
+        if (this.hookedBoatEntityUuid == null || !(this.getWorld() instanceof ServerWorld serverWorld)) return null;
+        // the boat isn't loaded yet, the BoatEngineHookQueue links it as soon as it is
+        if (BoatEngineRegistry.get(serverWorld).getHookQueue().isPending(this)) return null;
+        if (serverWorld.getEntity(this.hookedBoatEntityUuid) instanceof BoatEntity boatEntity) {
+            this.hookedBoatEntity = boatEntity;
+            return boatEntity;
+        }
+        return null;
+    }
+
+    private boolean isHookedTo(BoatEntity boatEntity) {
+        if (this.hookedBoatEntityUuid != null) return this.hookedBoatEntityUuid.equals(boatEntity.getUuid());
+        // the hooked uuid is not synced, so the client has to rely on the boat's reference
+        Optional<UUID> boatEngineUuid = ((BoatEngineCoupler) boatEntity).boatism$getBoatEngineEntityUuid();
+        return this.getWorld().isClient() && boatEngineUuid.isPresent() && boatEngineUuid.get().equals(this.getUuid());
     }
 
     public Optional<UUID> getHookedBoatEntityUuid() {
@@ -216,7 +378,9 @@ public class BoatEngineEntity extends LivingEntity {
     }
 
     public void setHookedBoatEntity(UUID uuid) {
+        BoatEngineRegistry.get(this.getWorld()).updateHookedBoat(this, this.hookedBoatEntityUuid, uuid);
         this.hookedBoatEntityUuid = uuid;
+        this.hookedBoatEntity = null;
     }
 
     @Override
@@ -226,6 +390,7 @@ public class BoatEngineEntity extends LivingEntity {
 
     public void setArmorItems(DefaultedList<ItemStack> armorItems) {
         this.armorItems = armorItems;
+        this.engineHandler.refreshStats();
     }
 
     public Iterable<ItemStack> getHeldItems() {
@@ -234,6 +399,7 @@ public class BoatEngineEntity extends LivingEntity {
 
     public void setHeldItems(DefaultedList<ItemStack> heldItems) {
         this.heldItems = heldItems;
+        this.engineHandler.refreshStats();
     }
 
     @Override
@@ -279,13 +445,28 @@ public class BoatEngineEntity extends LivingEntity {
     @Override
     public void onEquipStack(EquipmentSlot slot, ItemStack oldStack, ItemStack newStack) {
         super.onEquipStack(slot, oldStack, newStack);
+        this.engineHandler.refreshStats();
+        this.wakeUp();
         this.engineHandler.soundStateChange(List.of(SoundInstanceIdentifier.ENGINE_LOW_FUEL, SoundInstanceIdentifier.ENGINE_LOW_HEALTH));
     }
 
+    /**
+     * Restores the link to the hooked boat, if it has been loaded after this engine
+     */
+    public void onHookedBoatLoaded(BoatEntity boatEntity) {
+        ((BoatEngineCoupler) boatEntity).boatism$setBoatEngineEntity(this.getUuid());
+        this.hookedBoatEntity = boatEntity;
+        if (this.getVehicle() != boatEntity) this.startRiding(boatEntity, true);
+        this.wakeUp();
+    }
+
     public void hookOntoBoatEntity(BoatEntity boatEntity) {
         ((BoatEngineCoupler) boatEntity).boatism$setBoatEngineEntity(this.getUuid());
+        BoatEngineRegistry.get(this.getWorld()).updateHookedBoat(this, this.hookedBoatEntityUuid, boatEntity.getUuid());
         this.hookedBoatEntityUuid = boatEntity.getUuid();
+        this.hookedBoatEntity = boatEntity;
         this.startRiding(boatEntity, true);
+        this.wakeUp();
     }
 
     @Override
@@ -339,14 +520,26 @@ public class BoatEngineEntity extends LivingEntity {
 
     public void setPowerLevel(int level) {
         this.dataTracker.set(POWER_LEVEL, level);
+        this.wakeUp();
     }
 
+    /**
+     * Server side, this is the authoritative value. Clients extrapolate it from the last synced value.
+     */
     public int getOverheat() {
-        return this.dataTracker.get(OVERHEAT);
+        if (!this.getWorld().isClient()) return this.overheat;
+        int extrapolationTicks = Math.min(this.ticksSinceOverheatSync, this.maxSyncInterval * 2);
+        float overheat = TrackedValueSync.extrapolate(this.dataTracker.get(OVERHEAT),
+                this.dataTracker.get(OVERHEAT_RATE), extrapolationTicks);
+        return Math.max(0, Math.round(overheat));
     }
 
     public void setOverheat(int overheat) {
-        this.dataTracker.set(OVERHEAT, overheat);
+        if (this.getWorld().isClient()) {
+            this.dataTracker.set(OVERHEAT, overheat);
+            return;
+        }
+        this.overheat = overheat;
     }
 
     public EulerAngle getArmRotation() {
@@ -371,6 +564,7 @@ public class BoatEngineEntity extends LivingEntity {
 
     public void setIsRunning(boolean shouldRun) {
         this.dataTracker.set(RUNNING, shouldRun);
+        this.wakeUp();
     }
 
     public boolean isLocked() {
@@ -381,12 +575,24 @@ public class BoatEngineEntity extends LivingEntity {
         this.dataTracker.set(LOCKED, resting);
     }
 
+    /**
+     * Server side, this is the authoritative value. Clients extrapolate it from the last synced value.
+     */
     public float getFuel() {
-        return this.dataTracker.get(FUEL);
+        if (!this.getWorld().isClient()) return this.fuel;
+        int extrapolationTicks = Math.min(this.ticksSinceFuelSync, this.maxSyncInterval * 2);
+        float fuel = TrackedValueSync.extrapolate(this.dataTracker.get(FUEL),
+                this.dataTracker.get(FUEL_RATE), extrapolationTicks);
+        return Math.max(0.0f, fuel);
     }
 
     public void setFuel(float fuel) {
-        this.dataTracker.set(FUEL, fuel);
+        if (this.getWorld().isClient()) {
+            this.dataTracker.set(FUEL, fuel);
+            return;
+        }
+        this.fuel = fuel;
+        this.wakeUp();
     }
 
     public boolean hasLowHealth() {
@@ -421,9 +627,16 @@ public class BoatEngineEntity extends LivingEntity {
     @Override
     public void onRemoved() {
         getHookedBoatEntity().ifPresent(boatEntity -> ((BoatEngineCoupler) boatEntity).boatism$setBoatEngineEntity(null));
+        this.hookedBoatEntity = null;
         super.onRemoved();
     }
 
+    @Override
+    public boolean damage(DamageSource source, float amount) {
+        this.wakeUp();
+        return super.damage(source, amount);
+    }
+
     @Override
     public void onDeath(DamageSource damageSource) {
         getHookedBoatEntity().ifPresent(boatEntity -> ((BoatEngineCoupler) boatEntity).boatism$setBoatEngineEntity(null));
@@ -1,13 +1,27 @@
 package net.shirojr.boatism.event;
 
+import net.shirojr.boatism.event.custom.ClientEntityTrackingEvents;
+import net.shirojr.boatism.event.custom.ClientParticleEvents;
+import net.shirojr.boatism.event.custom.ClientRenderEvents;
+import net.shirojr.boatism.event.custom.ClientSoundLifecycleEvents;
 import net.shirojr.boatism.event.custom.CommandRegistrationEvents;
+import net.shirojr.boatism.event.custom.EntityTrackingEvents;
+import net.shirojr.boatism.event.custom.PlayerConnectionEvents;
+import net.shirojr.boatism.event.custom.ServerWorldTickEvents;
 
 public class BoatismEvents {
     public static void registerEvents() {
         CommandRegistrationEvents.register();
+        EntityTrackingEvents.register();
+        PlayerConnectionEvents.register();
+        ServerWorldTickEvents.register();
     }
 
     public static void registerClientEvents() {
-
+        ClientEntityTrackingEvents.register();
+        ClientSoundLifecycleEvents.register();
+        ClientParticleEvents.register();
+        ClientRenderEvents.register();
+        CommandRegistrationEvents.registerClient();
     }
 }
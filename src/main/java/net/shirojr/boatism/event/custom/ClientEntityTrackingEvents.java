@@ -0,0 +1,27 @@
+package net.shirojr.boatism.event.custom;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientEntityEvents;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.entity.Entity;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import net.shirojr.boatism.util.BoatEngineRegistry;
+
+@Environment(EnvType.CLIENT)
+public class ClientEntityTrackingEvents {
+    public static void register() {
+        ClientEntityEvents.ENTITY_LOAD.register(ClientEntityTrackingEvents::onEntityLoad);
+        ClientEntityEvents.ENTITY_UNLOAD.register(ClientEntityTrackingEvents::onEntityUnload);
+    }
+
+    private static void onEntityLoad(Entity entity, ClientWorld world) {
+        if (!(entity instanceof BoatEngineEntity boatEngine)) return;
+        BoatEngineRegistry.get(world).register(boatEngine);
+    }
+
+    private static void onEntityUnload(Entity entity, ClientWorld world) {
+        if (!(entity instanceof BoatEngineEntity boatEngine)) return;
+        BoatEngineRegistry.get(world).unregister(boatEngine);
+    }
+}
@@ -0,0 +1,15 @@
+package net.shirojr.boatism.event.custom;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.shirojr.boatism.BoatismClient;
+
+@Environment(EnvType.CLIENT)
+public class ClientParticleEvents {
+    public static void register() {
+        ClientTickEvents.END_WORLD_TICK.register(world -> BoatismClient.particleEmitter.tick(world));
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(BoatismClient.particleEmitter::clear));
+    }
+}
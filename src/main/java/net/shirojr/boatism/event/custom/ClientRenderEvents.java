@@ -0,0 +1,35 @@
+package net.shirojr.boatism.event.custom;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.rendering.v1.WorldRenderEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import net.shirojr.boatism.Boatism;
+import net.shirojr.boatism.BoatismClient;
+
+@Environment(EnvType.CLIENT)
+public class ClientRenderEvents {
+    public static void register() {
+        ClientTickEvents.END_WORLD_TICK.register(world -> BoatismClient.meshCache.tick());
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(BoatismClient.meshCache::clearMeshes));
+        WorldRenderEvents.START.register(context -> BoatismClient.batchRenderer.clear());
+        WorldRenderEvents.AFTER_ENTITIES.register(context -> BoatismClient.batchRenderer.render(context.consumers()));
+        ResourceManagerHelper.get(ResourceType.CLIENT_RESOURCES).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+            @Override
+            public Identifier getFabricId() {
+                return new Identifier(Boatism.MODID, "engine_mesh_cache");
+            }
+
+            @Override
+            public void reload(ResourceManager manager) {
+                BoatismClient.meshCache.clearMeshes();
+            }
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package net.shirojr.boatism.event.custom;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.shirojr.boatism.BoatismClient;
+import net.shirojr.boatism.sound.SoundInstanceFactoryRegistry;
+
+@Environment(EnvType.CLIENT)
+public class ClientSoundLifecycleEvents {
+    public static void register() {
+        ClientTickEvents.END_CLIENT_TICK.register(client -> BoatismClient.soundManager.tick(client.world));
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(() -> {
+            BoatismClient.soundManager.clear();
+            SoundInstanceFactoryRegistry.resetRawIds();
+        }));
+    }
+}
@@ -1,10 +1,19 @@
 package net.shirojr.boatism.event.custom;
 
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 import net.shirojr.boatism.command.BoatEngineEntityCommand;
+import net.shirojr.boatism.command.BoatismClientCommand;
 
 public class CommandRegistrationEvents {
     public static void register() {
         CommandRegistrationCallback.EVENT.register(BoatEngineEntityCommand::register);
     }
+
+    @Environment(EnvType.CLIENT)
+    public static void registerClient() {
+        ClientCommandRegistrationCallback.EVENT.register(BoatismClientCommand::register);
+    }
 }
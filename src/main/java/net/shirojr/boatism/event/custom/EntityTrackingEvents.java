@@ -0,0 +1,31 @@
+package net.shirojr.boatism.event.custom;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.vehicle.BoatEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import net.shirojr.boatism.util.BoatEngineRegistry;
+
+public class EntityTrackingEvents {
+    public static void register() {
+        ServerEntityEvents.ENTITY_LOAD.register(EntityTrackingEvents::onEntityLoad);
+        ServerEntityEvents.ENTITY_UNLOAD.register(EntityTrackingEvents::onEntityUnload);
+    }
+
+    private static void onEntityLoad(Entity entity, ServerWorld world) {
+        if (entity instanceof BoatEntity boatEntity) {
+            BoatEngineRegistry.get(world).onBoatLoaded(boatEntity);
+            return;
+        }
+        if (!(entity instanceof BoatEngineEntity boatEngine)) return;
+        BoatEngineRegistry registry = BoatEngineRegistry.get(world);
+        registry.register(boatEngine);
+        registry.resolveHook(boatEngine, world);
+    }
+
+    private static void onEntityUnload(Entity entity, ServerWorld world) {
+        if (!(entity instanceof BoatEngineEntity boatEngine)) return;
+        BoatEngineRegistry.get(world).unregister(boatEngine);
+    }
+}
@@ -0,0 +1,18 @@
+package net.shirojr.boatism.event.custom;
+
+import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.network.PacketByteBuf;
+import net.shirojr.boatism.network.BoatismNetworkIdentifiers;
+import net.shirojr.boatism.util.SoundInstanceRegistry;
+
+public class PlayerConnectionEvents {
+    public static void register() {
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            PacketByteBuf buf = PacketByteBufs.create();
+            buf.writeCollection(SoundInstanceRegistry.getEntries(), PacketByteBuf::writeIdentifier);
+            sender.sendPacket(BoatismNetworkIdentifiers.SOUND_INSTANCE_IDS.getPacketIdentifier(), buf);
+        });
+    }
+}
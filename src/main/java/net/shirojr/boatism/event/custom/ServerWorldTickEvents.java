@@ -0,0 +1,17 @@
+package net.shirojr.boatism.event.custom;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.world.ServerWorld;
+import net.shirojr.boatism.util.BoatEngineRegistry;
+
+public class ServerWorldTickEvents {
+    public static void register() {
+        ServerTickEvents.END_WORLD_TICK.register(ServerWorldTickEvents::onEndWorldTick);
+    }
+
+    private static void onEndWorldTick(ServerWorld world) {
+        BoatEngineRegistry registry = BoatEngineRegistry.get(world);
+        registry.getHookQueue().tick(world.getTime());
+        registry.getOrphanSweeper().tick(world, registry);
+    }
+}
@@ -5,6 +5,7 @@ import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.text.Text;
 import net.minecraft.world.World;
+import net.shirojr.boatism.util.BoatEngineItemState;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
@@ -22,6 +23,10 @@ public class BaseEngineItem extends Item {
         tooltip.add(Text.translatable("tooltip.boatism.base_engine_3"));
         tooltip.add(Text.translatable("tooltip.boatism.base_engine_4"));
         tooltip.add(Text.translatable("tooltip.boatism.base_engine_5"));
+        BoatEngineItemState.of(stack).ifPresent(state -> {
+            tooltip.add(Text.translatable("tooltip.boatism.base_engine_parts", state.getPartCount()));
+            tooltip.add(Text.translatable("tooltip.boatism.base_engine_fuel", Math.round(state.getFuel())));
+        });
         super.appendTooltip(stack, world, tooltip, context);
     }
 }
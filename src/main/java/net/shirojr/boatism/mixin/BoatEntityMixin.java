@@ -19,6 +19,7 @@ import net.shirojr.boatism.entity.custom.BoatEngineEntity;
 import net.shirojr.boatism.item.custom.BaseEngineItem;
 import net.shirojr.boatism.sound.BoatismSounds;
 import net.shirojr.boatism.util.BoatEngineCoupler;
+import net.shirojr.boatism.util.BoatEngineNbtHelper;
 import net.shirojr.boatism.api.CustomBoatEngineAttachment;
 import org.jetbrains.annotations.Nullable;
 import org.joml.Vector3f;
@@ -69,6 +70,7 @@ public abstract class BoatEntityMixin extends VehicleEntity implements BoatEngin
         if (stack.getItem() instanceof BaseEngineItem engineItem) {
             if (!this.getWorld().isClient()) {
                 BoatEngineEntity engineEntity = new BoatEngineEntity(this.getWorld(), boatEntity);
+                BoatEngineNbtHelper.applyItemStackToBoatEngineEntity(stack, engineEntity);
                 this.getWorld().spawnEntity(engineEntity);
                 this.getWorld().playSound(null, boatEntity.getX(), boatEntity.getY(), boatEntity.getZ(),
                         BoatismSounds.BOAT_ENGINE_EQUIP, SoundCategory.NEUTRAL, 0.9f, 1.0f);
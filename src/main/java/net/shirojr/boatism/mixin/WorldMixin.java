@@ -0,0 +1,18 @@
+package net.shirojr.boatism.mixin;
+
+import net.minecraft.world.World;
+import net.shirojr.boatism.util.BoatEngineRegistry;
+import net.shirojr.boatism.util.BoatEngineRegistryHolder;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(World.class)
+public abstract class WorldMixin implements BoatEngineRegistryHolder {
+    @Unique
+    private final BoatEngineRegistry boatism$boatEngineRegistry = new BoatEngineRegistry();
+
+    @Override
+    public BoatEngineRegistry boatism$getBoatEngineRegistry() {
+        return this.boatism$boatEngineRegistry;
+    }
+}
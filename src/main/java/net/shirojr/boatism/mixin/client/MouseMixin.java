@@ -41,7 +41,7 @@ public class MouseMixin {
 
         Optional<UUID> boatEngineUuid = ((BoatEngineCoupler) boatEntity).boatism$getBoatEngineEntityUuid();
         boatEngineUuid.ifPresent(uuid -> {
-            Optional<BoatEngineEntity> boatEngineEntity = EntityHandler.getBoatEngineEntityFromUuid(uuid, player.getWorld(), player.getPos(), 10);
+            Optional<BoatEngineEntity> boatEngineEntity = EntityHandler.getBoatEngineEntityFromUuid(uuid, player.getWorld());
             if (boatEngineEntity.isEmpty() || !boatEngineEntity.get().isRunning()) return;
 
             PacketByteBuf buf = PacketByteBufs.create();
@@ -0,0 +1,11 @@
+package net.shirojr.boatism.mixin.client;
+
+import net.minecraft.client.sound.MovingSoundInstance;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(MovingSoundInstance.class)
+public interface MovingSoundInstanceAccessor {
+    @Accessor("done")
+    void setIsDone(boolean done);
+}
@@ -7,7 +7,6 @@ import net.minecraft.network.PacketByteBuf;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayNetworkHandler;
 import net.minecraft.server.network.ServerPlayerEntity;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.text.Text;
 import net.minecraft.util.Identifier;
@@ -16,6 +15,7 @@ import net.shirojr.boatism.entity.custom.BoatEngineEntity;
 import net.shirojr.boatism.sound.BoatismSounds;
 import net.shirojr.boatism.util.BoatEngineCoupler;
 import net.shirojr.boatism.util.BoatEngineHandler;
+import net.shirojr.boatism.util.EntityHandler;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -32,9 +32,7 @@ public class BoatismC2S {
         server.execute(() -> {
             if (!(player.getVehicle() instanceof BoatEntity boatEntity)) return;
             Optional<UUID> boatEngineEntityUuid = ((BoatEngineCoupler) boatEntity).boatism$getBoatEngineEntityUuid();
-            boatEngineEntityUuid.ifPresent(uuid -> {
-                BoatEngineEntity boatEngineEntity = (BoatEngineEntity) ((ServerWorld) player.getWorld()).getEntity(uuid);
-                if (boatEngineEntity == null) return;
+            boatEngineEntityUuid.flatMap(uuid -> EntityHandler.getBoatEngineEntityFromUuid(uuid, player.getWorld())).ifPresent(boatEngineEntity -> {
                 BoatEngineHandler engineHandler = boatEngineEntity.getEngineHandler();
                 int newPowerLevel = engineHandler.getPowerLevel() + (int) delta;
                 newPowerLevel = Math.min(newPowerLevel, BoatEngineHandler.MAX_POWER_LEVEL);
@@ -5,7 +5,9 @@ import net.shirojr.boatism.Boatism;
 
 public enum BoatismNetworkIdentifiers {
     SOUND_START("custom_sound_start_instance", LogicalSide.CLIENT),
+    SOUND_REFRESH("custom_sound_refresh_instances", LogicalSide.CLIENT),
     SOUND_END_ALL("custom_sound_stop_all_instances", LogicalSide.CLIENT),
+    SOUND_INSTANCE_IDS("sound_instance_ids", LogicalSide.CLIENT),
     SCROLLED("scrolled", LogicalSide.SERVER);
 
     private final Identifier identifier;
@@ -8,52 +8,75 @@ import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
 import net.shirojr.boatism.BoatismClient;
 import net.shirojr.boatism.entity.custom.BoatEngineEntity;
-import net.shirojr.boatism.sound.instance.custom.*;
+import net.shirojr.boatism.sound.SoundInstanceFactoryRegistry;
+import net.shirojr.boatism.sound.instance.custom.BoatismSoundInstance;
 import net.shirojr.boatism.util.BoatEngineHandler;
 import net.shirojr.boatism.util.LoggerUtil;
 import net.shirojr.boatism.util.SoundInstanceIdentifier;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 public class BoatismS2C {
     public static void registerClientReceivers() {
         ClientPlayNetworking.registerGlobalReceiver(BoatismNetworkIdentifiers.SOUND_START.getPacketIdentifier(),
                 BoatismS2C::handleSoundInstanceChangePackets);
+        ClientPlayNetworking.registerGlobalReceiver(BoatismNetworkIdentifiers.SOUND_REFRESH.getPacketIdentifier(),
+                BoatismS2C::handleSoundInstanceRefreshPackets);
         ClientPlayNetworking.registerGlobalReceiver(BoatismNetworkIdentifiers.SOUND_END_ALL.getPacketIdentifier(),
                 BoatismS2C::handleClearAllSoundInstancesPackets);
+        ClientPlayNetworking.registerGlobalReceiver(BoatismNetworkIdentifiers.SOUND_INSTANCE_IDS.getPacketIdentifier(),
+                BoatismS2C::handleSoundInstanceIdsPackets);
     }
 
     private static void handleSoundInstanceChangePackets(MinecraftClient client, ClientPlayNetworkHandler clientPlayNetworkHandler,
                                                          PacketByteBuf clientBuf, PacketSender packetSender) {
         int entityId = clientBuf.readVarInt();
-        Identifier identifier = clientBuf.readIdentifier();
+        int soundStates = clientBuf.readVarInt();
         client.execute(() -> {
             if (client.world == null) return;
             if (!(client.world.getEntityById(entityId) instanceof BoatEngineEntity boatEngineEntity)) return;
             LoggerUtil.devLogger("after S2C is running: " + boatEngineEntity.isRunning());
-            SoundInstanceIdentifier.fromIdentifier(identifier).ifPresent(soundInstanceIdentifier -> {
-                BoatismSoundInstance soundInstance;
-                switch (soundInstanceIdentifier) {
-                    case ENGINE_RUNNING -> soundInstance = new EngineRunningSoundInstance(boatEngineEntity);
-                    case ENGINE_RUNNING_UNDERWATER -> soundInstance = new EngineSubmergedSoundInstance(boatEngineEntity);
-                    case ENGINE_LOW_FUEL -> soundInstance = new EngineLowFuelSoundInstance(boatEngineEntity);
-                    case ENGINE_LOW_HEALTH -> soundInstance = new EngineLowHealthSoundInstance(boatEngineEntity);
-                    case ENGINE_OVERHEATING -> soundInstance = new EngineOverheatingSoundInstance(boatEngineEntity);
-                    case NO_SOUND -> {
-                        BoatismClient.soundManager.stopAllSoundInstancesForBoatEngineEntity(boatEngineEntity);
-                        return;
-                    }
-                    default -> {
-                        LoggerUtil.LOGGER.error(String.format("Failed to play %s SoundInstance", soundInstanceIdentifier.getIdentifier().getPath()));
-                        return;
-                    }
-                }
-                BoatismClient.soundManager.start(soundInstanceIdentifier, soundInstance);
-            });
+            // cancelling has to happen before any new sound instance is started
+            if (SoundInstanceIdentifier.NO_SOUND.isSetIn(soundStates)) {
+                BoatismClient.soundManager.stopAllSoundInstancesForBoatEngineEntity(boatEngineEntity);
+            }
+            int startedSoundStates = soundStates & ~SoundInstanceIdentifier.NO_SOUND.getBit();
+            while (startedSoundStates != 0) {
+                int rawId = Integer.numberOfTrailingZeros(startedSoundStates);
+                startedSoundStates &= startedSoundStates - 1;
+                Function<BoatEngineEntity, ? extends BoatismSoundInstance> voiceFactory = SoundInstanceFactoryRegistry.get(rawId);
+                if (voiceFactory == null) continue;
+                BoatismClient.soundManager.start(rawId, boatEngineEntity, voiceFactory);
+            }
         });
     }
 
+    private static void handleSoundInstanceRefreshPackets(MinecraftClient client, ClientPlayNetworkHandler clientPlayNetworkHandler,
+                                                          PacketByteBuf clientBuf, PacketSender packetSender) {
+        int entityId = clientBuf.readVarInt();
+        int soundStates = clientBuf.readVarInt();
+        client.execute(() -> {
+            if (client.world == null) return;
+            if (!(client.world.getEntityById(entityId) instanceof BoatEngineEntity boatEngineEntity)) return;
+            int refreshedSoundStates = soundStates & ~SoundInstanceIdentifier.NO_SOUND.getBit();
+            while (refreshedSoundStates != 0) {
+                int rawId = Integer.numberOfTrailingZeros(refreshedSoundStates);
+                refreshedSoundStates &= refreshedSoundStates - 1;
+                Function<BoatEngineEntity, ? extends BoatismSoundInstance> voiceFactory = SoundInstanceFactoryRegistry.get(rawId);
+                if (voiceFactory == null) continue;
+                BoatismClient.soundManager.refresh(rawId, boatEngineEntity, voiceFactory);
+            }
+        });
+    }
+
+    private static void handleSoundInstanceIdsPackets(MinecraftClient client, ClientPlayNetworkHandler clientPlayNetworkHandler,
+                                                      PacketByteBuf clientBuf, PacketSender packetSender) {
+        List<Identifier> serverEntries = clientBuf.readList(PacketByteBuf::readIdentifier);
+        client.execute(() -> SoundInstanceFactoryRegistry.applyRawIds(serverEntries));
+    }
+
     private static void handleClearAllSoundInstancesPackets(MinecraftClient client, ClientPlayNetworkHandler clientPlayNetworkHandler,
                                                             PacketByteBuf clientBuf, PacketSender packetSender) {
         client.execute(() -> {
@@ -1,110 +1,378 @@
 package net.shirojr.boatism.sound;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.world.ClientWorld;
 import net.minecraft.text.Text;
-import net.minecraft.util.Identifier;
-import net.shirojr.boatism.BoatismClient;
+import net.minecraft.util.math.Vec3d;
+import net.shirojr.boatism.Boatism;
 import net.shirojr.boatism.entity.custom.BoatEngineEntity;
 import net.shirojr.boatism.sound.instance.SoundInstanceState;
 import net.shirojr.boatism.sound.instance.custom.BoatismSoundInstance;
 import net.shirojr.boatism.util.LoggerUtil;
 import net.shirojr.boatism.util.SoundInstanceIdentifier;
+import net.shirojr.boatism.util.SoundInstanceRegistry;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
 
-import java.util.ArrayList;
-import java.util.List;
 @Environment(EnvType.CLIENT)
 public class BoatismSoundManager {
+    /**
+     * Ticks, for which a finished voice is kept to be restarted, before it is removed
+     */
+    private static final int MAX_IDLE_VOICE_TICKS = 200;
+    private static final Comparator<BoatismSoundInstance> AUDIBILITY_ORDER =
+            Comparator.comparingDouble(BoatismSoundInstance::getAudibility).reversed();
     private final MinecraftClient client = MinecraftClient.getInstance();
-    private final List<SoundInstanceEntry> activeSoundInstances = new ArrayList<>();
+    /**
+     * Active SoundInstances of every boat engine, keyed by the engine's entity id.
+     * The voices of an engine are indexed by their network id of the {@link SoundInstanceFactoryRegistry}.
+     */
+    private final Int2ObjectMap<BoatismSoundInstance[]> activeSoundInstances = new Int2ObjectOpenHashMap<>();
+    /**
+     * Shared {@link EngineAudioState} of every boat engine, which has active SoundInstances
+     */
+    private final Int2ObjectMap<EngineAudioState> audioStates = new Int2ObjectOpenHashMap<>();
+    private int activeCount = 0;
+    /**
+     * SoundInstances, which have been removed after they finished playing
+     */
+    private long reapedCount = 0;
+    /**
+     * SoundInstances, which had to be removed, because their boat engine or world was gone before they finished
+     */
+    private long leakedCount = 0;
+    private int realVoiceCount = 0;
+    private final List<BoatismSoundInstance> voices = new ArrayList<>();
 
-    public List<SoundInstanceEntry> getActiveSoundInstances() {
-        return this.activeSoundInstances;
+    /**
+     * @return active SoundInstances of the boat engine
+     */
+    public List<BoatismSoundInstance> getActiveSoundInstances(BoatEngineEntity boatEngine) {
+        BoatismSoundInstance[] engineSoundInstances = this.activeSoundInstances.get(boatEngine.getId());
+        if (engineSoundInstances == null) return List.of();
+        List<BoatismSoundInstance> soundInstances = new ArrayList<>();
+        for (BoatismSoundInstance soundInstance : engineSoundInstances) {
+            if (soundInstance != null) soundInstances.add(soundInstance);
+        }
+        return soundInstances;
+    }
+
+    public EngineAudioState getAudioState(BoatEngineEntity boatEngine) {
+        EngineAudioState audioState = this.audioStates.get(boatEngine.getId());
+        if (audioState == null || audioState.getBoatEngine() != boatEngine) {
+            audioState = new EngineAudioState(boatEngine);
+            this.audioStates.put(boatEngine.getId(), audioState);
+        }
+        return audioState;
     }
 
     /**
-     * Adds new SoundInstance to active sound instances.<br><br>
+     * Starts the engine's voice for the SoundInstanceIdentifier.<br><br>
+     * <h3>Voice reuse</h3><br>
+     * Every boat engine owns at most one voice per network id. If the voice is still playing,
+     * nothing happens. If it is fading out, has already finished or has been {@linkplain #isDropped dropped}, the same
+     * SoundInstance is restarted, so rapid toggling doesn't create new SoundInstances. Only if there is no voice yet,
+     * the factory is used.<br><br>
      * <h3>Excluded SoundInstance handling</h3><br>
-     * This will only apply, if the new SoundInstance makes use of the {@linkplain SoundInstanceState} Interface.
-     * New entries always have priority over already
-     * existing entries. If entries have the same {@linkplain SoundInstanceIdentifier} the entry, which is already
-     * in the list, will be removed.<br>
+     * This will only apply, if the voice makes use of the {@linkplain SoundInstanceState} Interface.
+     * New voices always have priority over already playing voices, which will fade out.<br>
      * <h4>Criteria:</h4>
      * <ul>
      *     <li>if new SoundInstance is a main sound, it will stop all other currently running main sounds</li>
      *     <li>if new SoundInstance is manually excluding other sounds, those will be stopped as well</li>
      * </ul>
+     * Only the SoundInstances of the same boat engine are checked, so this never depends on the amount of
+     * other active boat engines.
      *
-     * @param soundInstanceIdentifier The identifying enum of the SoundInstance
-     * @param soundInstance           the actual object, which will be passed to the client BoatismSoundManager
+     * @param rawId        network id of the SoundInstance
+     * @param boatEngine   the boat engine, which owns the voice
+     * @param voiceFactory creates the SoundInstance, if the engine has no voice for the network id yet
      */
-    public void start(SoundInstanceIdentifier soundInstanceIdentifier, BoatismSoundInstance soundInstance) {
-        if (!(soundInstance instanceof SoundInstanceState state)) return;
-        List<SoundInstanceEntry> unsupportedSoundInstances = new ArrayList<>();
-        for (var activeInstance : this.activeSoundInstances) {
-            LoggerUtil.devLogger(activeInstance.instance.toString());
-            if (!(activeInstance.instance instanceof SoundInstanceState activeInstanceState)) continue;
-            if (soundInstance.getBoatEngineEntity().equals(activeInstance.instance.getBoatEngineEntity())) {
-                /*if (soundInstanceIdentifier.equals(activeInstance.identifier)) {
-                    //return;
-                    unsupportedSoundInstances.add(activeInstance);
-                }*/
-                if (state.isMainSound() && activeInstanceState.isMainSound()) {
-                    unsupportedSoundInstances.add(activeInstance);
-                }
-                for (SoundInstanceIdentifier unsupportedInstance : state.unsupportedInstances()) {
-                    if (activeInstance.identifier.equals(unsupportedInstance))
-                        unsupportedSoundInstances.add(activeInstance);
-                }
+    public void start(int rawId, BoatEngineEntity boatEngine,
+                      Function<BoatEngineEntity, ? extends BoatismSoundInstance> voiceFactory) {
+        if (rawId < 0 || rawId >= SoundInstanceRegistry.MAX_ENTRIES) return;
+        BoatismSoundInstance[] engineSoundInstances = this.activeSoundInstances.computeIfAbsent(
+                boatEngine.getId(), id -> new BoatismSoundInstance[SoundInstanceRegistry.MAX_ENTRIES]);
+        BoatismSoundInstance soundInstance = engineSoundInstances[rawId];
+        if (soundInstance != null && soundInstance.getBoatEngineEntity() != boatEngine) {
+            // entity id has been reused by another engine
+            this.client.getSoundManager().stop(soundInstance);
+            engineSoundInstances[rawId] = null;
+            this.activeCount--;
+            soundInstance = null;
+        }
+        if (soundInstance != null && this.isLive(soundInstance)) return;
+        if (soundInstance == null && this.activeCount >= Boatism.CONFIG.maxSoundInstances) {
+            LoggerUtil.devLogger("Reached SoundInstance limit, dropped " + SoundInstanceFactoryRegistry.getIdentifier(rawId));
+            if (isEmpty(engineSoundInstances)) this.activeSoundInstances.remove(boatEngine.getId());
+            return;
+        }
+        boolean isNewVoice = soundInstance == null;
+        if (isNewVoice) soundInstance = voiceFactory.apply(boatEngine);
+        if (!(soundInstance instanceof SoundInstanceState state)) {
+            if (isEmpty(engineSoundInstances)) this.activeSoundInstances.remove(boatEngine.getId());
+            return;
+        }
+
+        for (int activeRawId = 0; activeRawId < engineSoundInstances.length; activeRawId++) {
+            BoatismSoundInstance activeSoundInstance = engineSoundInstances[activeRawId];
+            if (activeSoundInstance == null || activeRawId == rawId) continue;
+            if (activeSoundInstance.isFinishing() || activeSoundInstance.isFinished()) continue;
+            if (!isUnsupported(state, activeRawId, activeSoundInstance)) continue;
+            activeSoundInstance.finishSoundInstance();
+        }
+
+        if (isNewVoice) {
+            engineSoundInstances[rawId] = soundInstance;
+            this.activeCount++;
+            this.playVoice(soundInstance);
+        } else {
+            soundInstance.restart();
+            // finished and dropped voices are not known to the vanilla SoundManager anymore
+            if (!soundInstance.isVirtual() && !this.client.getSoundManager().isPlaying(soundInstance)) {
+                this.playVoice(soundInstance);
             }
-            if (activeInstance.instance.isFinished()) {
-                unsupportedSoundInstances.add(activeInstance);
+        }
+        LoggerUtil.devLogger(boatEngine + " | " + SoundInstanceFactoryRegistry.getIdentifier(rawId));
+    }
+
+    public void start(SoundInstanceIdentifier soundInstanceIdentifier, BoatEngineEntity boatEngine,
+                      Function<BoatEngineEntity, ? extends BoatismSoundInstance> voiceFactory) {
+        start(soundInstanceIdentifier.ordinal(), boatEngine, voiceFactory);
+    }
+
+    /**
+     * Restores a voice of a state, which the server still holds, if the client has lost it in the meantime, e.g.
+     * because it has been {@linkplain #isDropped dropped} and finished or reaped.<br>
+     * Unlike {@link #start}, this never interrupts live voices: if the voice is still live, or if it would exclude
+     * another live voice of the engine, nothing happens.
+     *
+     * @param rawId        network id of the SoundInstance
+     * @param boatEngine   the boat engine, which owns the voice
+     * @param voiceFactory creates the SoundInstance, if the engine has no voice for the network id anymore
+     */
+    public void refresh(int rawId, BoatEngineEntity boatEngine,
+                        Function<BoatEngineEntity, ? extends BoatismSoundInstance> voiceFactory) {
+        if (rawId < 0 || rawId >= SoundInstanceRegistry.MAX_ENTRIES) return;
+        BoatismSoundInstance[] engineSoundInstances = this.activeSoundInstances.get(boatEngine.getId());
+        BoatismSoundInstance soundInstance = engineSoundInstances != null ? engineSoundInstances[rawId] : null;
+        if (soundInstance != null && soundInstance.getBoatEngineEntity() != boatEngine) soundInstance = null;
+        if (soundInstance != null && this.isLive(soundInstance)) return;
+        BoatismSoundInstance voice = soundInstance != null ? soundInstance : voiceFactory.apply(boatEngine);
+        if (engineSoundInstances != null && voice instanceof SoundInstanceState state) {
+            for (int activeRawId = 0; activeRawId < engineSoundInstances.length; activeRawId++) {
+                BoatismSoundInstance activeSoundInstance = engineSoundInstances[activeRawId];
+                if (activeSoundInstance == null || activeRawId == rawId) continue;
+                if (this.isLive(activeSoundInstance) && isUnsupported(state, activeRawId, activeSoundInstance)) return;
             }
         }
-        unsupportedSoundInstances.forEach(this::stop);
+        LoggerUtil.devLogger("Restored lost voice " + SoundInstanceFactoryRegistry.getIdentifier(rawId) + " of " + boatEngine);
+        this.start(rawId, boatEngine, engine -> voice);
+    }
 
-        this.activeSoundInstances.add(new SoundInstanceEntry(soundInstanceIdentifier, soundInstance));
+    private void playVoice(BoatismSoundInstance soundInstance) {
+        if (this.realVoiceCount >= Boatism.CONFIG.maxEngineVoices) {
+            soundInstance.setVirtual(true);
+            return;
+        }
+        soundInstance.setVirtual(false);
+        this.realVoiceCount++;
         this.client.getSoundManager().play(soundInstance);
-        List<SoundInstanceEntry> soundInstances = BoatismClient.soundManager.getActiveSoundInstances();
-        for (var entry : soundInstances) {
-            if (!entry.identifier.equals(SoundInstanceIdentifier.ENGINE_OVERHEATING)) continue;
-            LoggerUtil.devLogger(entry.instance().getBoatEngineEntity() + " | " + entry.identifier().toString());
+    }
+
+    /**
+     * @return true, if the voice is neither fading out, nor finished, nor dropped
+     */
+    private boolean isLive(BoatismSoundInstance soundInstance) {
+        return !soundInstance.isFinishing() && !soundInstance.isFinished() && !this.isDropped(soundInstance);
+    }
+
+    /**
+     * The vanilla SoundSystem stops a SoundInstance, as soon as {@link BoatismSoundInstance#canPlay()} returns false,
+     * e.g. for the running engine while it is submerged, without letting the voice know. Such a voice still looks
+     * active, but isn't played anymore.
+     */
+    private boolean isDropped(BoatismSoundInstance soundInstance) {
+        return !soundInstance.isVirtual() && !soundInstance.isFinished()
+                && !this.client.getSoundManager().isPlaying(soundInstance);
+    }
+
+    /**
+     * Plays a dropped voice again, if it can be played by now. Otherwise, it is finished, so it doesn't keep its slot
+     * and will be restarted by the next {@link #start} call or reaped.
+     */
+    private void recoverDroppedVoice(BoatismSoundInstance soundInstance) {
+        if (!soundInstance.isFinishing() && soundInstance.canPlay()) {
+            this.client.getSoundManager().play(soundInstance);
+            return;
         }
+        soundInstance.markFinished();
+        LoggerUtil.devLogger("Finished dropped voice of " + soundInstance.getBoatEngineEntity());
+    }
+
+    private static boolean isUnsupported(SoundInstanceState newState, int activeRawId, BoatismSoundInstance activeInstance) {
+        if (!(activeInstance instanceof SoundInstanceState activeState)) return false;
+        if (newState.isMainSound() && activeState.isMainSound()) return true;
+        SoundInstanceIdentifier activeIdentifier = SoundInstanceIdentifier.fromRawId(activeRawId);
+        return activeIdentifier != null && newState.unsupportedInstances().contains(activeIdentifier);
     }
 
-    public void stop(SoundInstanceEntry soundInstanceEntry) {
-        for (SoundInstanceEntry entry : this.activeSoundInstances) {
-            if (soundInstanceEntry.identifier != entry.identifier) continue;
-            soundInstanceEntry.instance.finishSoundInstance();
+    private static boolean isEmpty(BoatismSoundInstance[] engineSoundInstances) {
+        for (BoatismSoundInstance soundInstance : engineSoundInstances) {
+            if (soundInstance != null) return false;
         }
-        removeEntriesFromList(List.of(soundInstanceEntry));
+        return true;
+    }
+
+    public void stop(BoatEngineEntity boatEngine, int rawId) {
+        BoatismSoundInstance[] engineSoundInstances = this.activeSoundInstances.get(boatEngine.getId());
+        if (engineSoundInstances == null || rawId < 0 || rawId >= engineSoundInstances.length) return;
+        BoatismSoundInstance soundInstance = engineSoundInstances[rawId];
+        if (soundInstance != null && !soundInstance.isFinished()) soundInstance.finishSoundInstance();
     }
 
     public void stopAllSoundInstancesForBoatEngineEntity(BoatEngineEntity boatEngine) {
-        for (var entry : this.activeSoundInstances) {
-            if (!entry.instance.getBoatEngineEntity().equals(boatEngine)) continue;
-            client.getSoundManager().stop(entry.instance);
+        BoatismSoundInstance[] engineSoundInstances = this.activeSoundInstances.remove(boatEngine.getId());
+        if (engineSoundInstances == null) return;
+        for (BoatismSoundInstance soundInstance : engineSoundInstances) {
+            if (soundInstance == null) continue;
+            client.getSoundManager().stop(soundInstance);
+            this.activeCount--;
         }
-        this.activeSoundInstances.clear();
     }
 
     public void stopAllSoundInstances() {
-        for (var entry : this.activeSoundInstances) {
-            client.getSoundManager().stop(entry.instance);
-            if (client.player != null) client.player.sendMessage(
-                    Text.literal("removed " + entry.identifier + " for: " +
-                            entry.instance.getBoatEngineEntity().toString()));
+        for (BoatismSoundInstance[] engineSoundInstances : this.activeSoundInstances.values()) {
+            for (int rawId = 0; rawId < engineSoundInstances.length; rawId++) {
+                BoatismSoundInstance soundInstance = engineSoundInstances[rawId];
+                if (soundInstance == null) continue;
+                client.getSoundManager().stop(soundInstance);
+                if (client.player != null) client.player.sendMessage(
+                        Text.literal("removed " + SoundInstanceFactoryRegistry.getIdentifier(rawId) + " for: " +
+                                soundInstance.getBoatEngineEntity().toString()));
+            }
         }
         this.activeSoundInstances.clear();
+        this.audioStates.clear();
+        this.activeCount = 0;
+        this.realVoiceCount = 0;
+    }
+
+    /**
+     * Reaps SoundInstances once per client tick.<br>
+     * Finished SoundInstances are kept as reusable voices for a short time and removed afterward.
+     * Voices, which have been {@linkplain #isDropped dropped} by the vanilla SoundManager, are played again or finished.
+     * SoundInstances of removed or unloaded boat engines, or of boat engines from another world,
+     * are stopped and counted as leaked, if they haven't finished yet.
+     */
+    public void tick(@Nullable ClientWorld world) {
+        if (this.activeSoundInstances.isEmpty() && this.audioStates.isEmpty()) return;
+        var engineIterator = this.activeSoundInstances.values().iterator();
+        while (engineIterator.hasNext()) {
+            BoatismSoundInstance[] engineSoundInstances = engineIterator.next();
+            boolean isEmpty = true;
+            for (int rawId = 0; rawId < engineSoundInstances.length; rawId++) {
+                BoatismSoundInstance soundInstance = engineSoundInstances[rawId];
+                if (soundInstance == null) continue;
+                BoatEngineEntity boatEngine = soundInstance.getBoatEngineEntity();
+                if (boatEngine.isRemoved() || boatEngine.getWorld() != world) {
+                    if (soundInstance.isFinished()) {
+                        this.reapedCount++;
+                    } else {
+                        client.getSoundManager().stop(soundInstance);
+                        this.leakedCount++;
+                    }
+                } else if (soundInstance.isFinished() && soundInstance.tickIdle() > MAX_IDLE_VOICE_TICKS) {
+                    this.reapedCount++;
+                } else {
+                    if (this.isDropped(soundInstance)) this.recoverDroppedVoice(soundInstance);
+                    isEmpty = false;
+                    continue;
+                }
+                engineSoundInstances[rawId] = null;
+                this.activeCount--;
+            }
+            if (isEmpty) engineIterator.remove();
+        }
+        IntIterator audioStateIterator = this.audioStates.keySet().iterator();
+        while (audioStateIterator.hasNext()) {
+            if (!this.activeSoundInstances.containsKey(audioStateIterator.nextInt())) audioStateIterator.remove();
+        }
+        this.updateVoiceBudget();
     }
 
-    private void removeEntriesFromList(List<SoundInstanceEntry> unsupportedSoundInstances) {
-        for (var entry : unsupportedSoundInstances) {
-            this.activeSoundInstances.remove(entry);
+    /**
+     * Keeps only the most audible engine voices as real sound sources.<br>
+     * Voices are ranked by their distance to the camera, their volume and their {@link SoundInstanceState#getPriority()}.
+     * All other voices are stopped in the vanilla SoundManager and ticked here, so their logical state keeps going
+     * and they can be resumed as soon as they are ranked high enough again.
+     */
+    private void updateVoiceBudget() {
+        int maxVoices = Boatism.CONFIG.maxEngineVoices;
+        this.voices.clear();
+        for (BoatismSoundInstance[] engineSoundInstances : this.activeSoundInstances.values()) {
+            for (BoatismSoundInstance voice : engineSoundInstances) {
+                if (voice != null && !voice.isFinished()) this.voices.add(voice);
+            }
+        }
+        if (this.voices.size() > maxVoices) {
+            Vec3d listenerPos = this.client.gameRenderer.getCamera().getPos();
+            for (BoatismSoundInstance voice : this.voices) {
+                int priority = voice instanceof SoundInstanceState state ? state.getPriority() : 1;
+                voice.updateAudibility(listenerPos, priority);
+            }
+            this.voices.sort(AUDIBILITY_ORDER);
+        }
+
+        this.realVoiceCount = 0;
+        for (int i = 0; i < this.voices.size(); i++) {
+            BoatismSoundInstance voice = this.voices.get(i);
+            boolean shouldBeVirtual = i >= maxVoices;
+            if (shouldBeVirtual != voice.isVirtual()) {
+                voice.setVirtual(shouldBeVirtual);
+                if (shouldBeVirtual) this.client.getSoundManager().stop(voice);
+                else this.client.getSoundManager().play(voice);
+            }
+            if (!shouldBeVirtual) {
+                this.realVoiceCount++;
+            } else if (!this.client.isPaused()) {
+                voice.tick();
+            }
+        }
+        this.voices.clear();
+    }
+
+    /**
+     * Drops all SoundInstances without counting them as leaked, e.g. when the client disconnects.
+     */
+    public void clear() {
+        for (BoatismSoundInstance[] engineSoundInstances : this.activeSoundInstances.values()) {
+            for (BoatismSoundInstance soundInstance : engineSoundInstances) {
+                if (soundInstance != null) client.getSoundManager().stop(soundInstance);
+            }
         }
+        this.activeSoundInstances.clear();
+        this.audioStates.clear();
+        this.activeCount = 0;
+        this.realVoiceCount = 0;
+    }
+
+    public int getActiveCount() {
+        return this.activeCount;
+    }
+
+    public long getReapedCount() {
+        return this.reapedCount;
     }
 
-    public record SoundInstanceEntry(SoundInstanceIdentifier identifier, BoatismSoundInstance instance) {
+    public long getLeakedCount() {
+        return this.leakedCount;
     }
 }
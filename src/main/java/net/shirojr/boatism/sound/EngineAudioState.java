@@ -0,0 +1,104 @@
+package net.shirojr.boatism.sound;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.util.math.MathHelper;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import net.shirojr.boatism.util.BoatEngineHandler;
+
+/**
+ * Client side snapshot of all engine values, which are needed by the engine's SoundInstances.<br>
+ * It is shared by all SoundInstances of the same engine and only refreshed once per engine tick,
+ * so the amount of DataTracker reads doesn't depend on the amount of active loops.
+ */
+@Environment(EnvType.CLIENT)
+public class EngineAudioState {
+    private final BoatEngineEntity boatEngine;
+    private int lastUpdateAge = -1;
+
+    private boolean isRunning, isSubmerged, isHooked, isLowOnFuel, hasLowHealth, isHeatingUp;
+    private float speed, normalizedLoad, normalizedHeat, normalizedFuel;
+    private int overheat;
+
+    public EngineAudioState(BoatEngineEntity boatEngine) {
+        this.boatEngine = boatEngine;
+    }
+
+    /**
+     * Refreshes the snapshot, if the engine has ticked since the last refresh
+     */
+    public void update() {
+        if (this.lastUpdateAge == this.boatEngine.age) return;
+        this.lastUpdateAge = this.boatEngine.age;
+        BoatEngineHandler engineHandler = this.boatEngine.getEngineHandler();
+
+        this.isRunning = this.boatEngine.isRunning();
+        this.isSubmerged = this.boatEngine.isSubmerged();
+        this.isHooked = this.boatEngine.getHookedBoatEntity().isPresent();
+        this.hasLowHealth = this.boatEngine.hasLowHealth();
+        this.speed = (float) this.boatEngine.getVelocity().horizontalLength();
+        this.normalizedLoad = engineHandler.getPowerLevel() * 0.1f;
+        this.overheat = engineHandler.getOverheat();
+        this.normalizedHeat = (float) this.overheat / BoatEngineHandler.MAX_OVERHEAT;
+        this.isHeatingUp = engineHandler.isHeatingUp();
+        this.normalizedFuel = MathHelper.clamp(engineHandler.getFuel() / engineHandler.getMaxFuelCapacity(), 0.0f, 1.0f);
+        this.isLowOnFuel = engineHandler.isLowOnFuel();
+    }
+
+    public BoatEngineEntity getBoatEngine() {
+        return this.boatEngine;
+    }
+
+    public boolean isRunning() {
+        return this.isRunning;
+    }
+
+    public boolean isSubmerged() {
+        return this.isSubmerged;
+    }
+
+    /**
+     * @return true, if the engine is hooked onto a boat
+     */
+    public boolean isHooked() {
+        return this.isHooked;
+    }
+
+    public boolean isLowOnFuel() {
+        return this.isLowOnFuel;
+    }
+
+    public boolean hasLowHealth() {
+        return this.hasLowHealth;
+    }
+
+    public boolean isHeatingUp() {
+        return this.isHeatingUp;
+    }
+
+    /**
+     * @return horizontal speed of the engine
+     */
+    public float getSpeed() {
+        return this.speed;
+    }
+
+    /**
+     * @return power level mapped to 0.0 - 0.9
+     */
+    public float getNormalizedLoad() {
+        return this.normalizedLoad;
+    }
+
+    public int getOverheat() {
+        return this.overheat;
+    }
+
+    public float getNormalizedHeat() {
+        return this.normalizedHeat;
+    }
+
+    public float getNormalizedFuel() {
+        return this.normalizedFuel;
+    }
+}
@@ -0,0 +1,110 @@
+package net.shirojr.boatism.sound;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.util.Identifier;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import net.shirojr.boatism.sound.instance.custom.*;
+import net.shirojr.boatism.util.LoggerUtil;
+import net.shirojr.boatism.util.SoundInstanceIdentifier;
+import net.shirojr.boatism.util.SoundInstanceRegistry;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Client side factories of all SoundInstances, which can be started for a boat engine.<br>
+ * Addons register their factories with the same {@link Identifier} as their {@link SoundInstanceRegistry} entry.
+ * The network ids of the connected server are applied on join, so decoding a sound state is a plain array lookup.
+ */
+@Environment(EnvType.CLIENT)
+public class SoundInstanceFactoryRegistry {
+    private static final Map<Identifier, Function<BoatEngineEntity, ? extends BoatismSoundInstance>> FACTORIES = new HashMap<>();
+    @Nullable
+    private static List<Identifier> serverEntries = null;
+    private static List<Identifier> identifiersByRawId = List.of();
+    private static List<Function<BoatEngineEntity, ? extends BoatismSoundInstance>> factoriesByRawId = List.of();
+    private static boolean lookupDirty = true;
+
+    static {
+        register(SoundInstanceIdentifier.ENGINE_RUNNING.getIdentifier(), EngineRunningSoundInstance::new);
+        register(SoundInstanceIdentifier.ENGINE_RUNNING_UNDERWATER.getIdentifier(), EngineSubmergedSoundInstance::new);
+        register(SoundInstanceIdentifier.ENGINE_LOW_FUEL.getIdentifier(), EngineLowFuelSoundInstance::new);
+        register(SoundInstanceIdentifier.ENGINE_LOW_HEALTH.getIdentifier(), EngineLowHealthSoundInstance::new);
+        register(SoundInstanceIdentifier.ENGINE_OVERHEATING.getIdentifier(), EngineOverheatingSoundInstance::new);
+    }
+
+    /**
+     * The lookup by network id is only rebuilt on its next use, so registering doesn't rebuild it for every factory
+     */
+    public static void register(Identifier identifier, Function<BoatEngineEntity, ? extends BoatismSoundInstance> factory) {
+        if (FACTORIES.putIfAbsent(identifier, factory) != null) {
+            throw new IllegalArgumentException("SoundInstance factory for %s has already been registered".formatted(identifier));
+        }
+        lookupDirty = true;
+    }
+
+    /**
+     * Applies the network ids of the server. Entries without a local factory can't be played and are skipped.
+     * Only addon entries are reported, since {@link SoundInstanceIdentifier#NO_SOUND} is a control bit without a
+     * factory.
+     */
+    public static void applyRawIds(List<Identifier> serverEntries) {
+        SoundInstanceFactoryRegistry.serverEntries = List.copyOf(serverEntries);
+        buildLookup(SoundInstanceFactoryRegistry.serverEntries);
+        for (Identifier identifier : SoundInstanceFactoryRegistry.serverEntries) {
+            if (FACTORIES.containsKey(identifier)) continue;
+            if (SoundInstanceIdentifier.fromIdentifier(identifier).isPresent()) continue;
+            LoggerUtil.LOGGER.warn("No SoundInstance factory for {}, it won't be played", identifier);
+        }
+    }
+
+    /**
+     * Falls back to the local network ids, e.g. after disconnecting from a server
+     */
+    public static void resetRawIds() {
+        serverEntries = null;
+        lookupDirty = true;
+    }
+
+    private static void updateLookup() {
+        if (!lookupDirty) return;
+        buildLookup(serverEntries != null ? serverEntries : SoundInstanceRegistry.getEntries());
+    }
+
+    private static void buildLookup(List<Identifier> entries) {
+        List<Function<BoatEngineEntity, ? extends BoatismSoundInstance>> factories = new ArrayList<>(entries.size());
+        for (Identifier identifier : entries) {
+            factories.add(FACTORIES.get(identifier));
+        }
+        identifiersByRawId = List.copyOf(entries);
+        factoriesByRawId = factories;
+        lookupDirty = false;
+    }
+
+    @Nullable
+    public static Function<BoatEngineEntity, ? extends BoatismSoundInstance> get(int rawId) {
+        updateLookup();
+        if (rawId < 0 || rawId >= factoriesByRawId.size()) return null;
+        return factoriesByRawId.get(rawId);
+    }
+
+    @Nullable
+    public static Identifier getIdentifier(int rawId) {
+        updateLookup();
+        if (rawId < 0 || rawId >= identifiersByRawId.size()) return null;
+        return identifiersByRawId.get(rawId);
+    }
+
+    /**
+     * @return amount of network ids, which are known by the connected server
+     */
+    public static int size() {
+        updateLookup();
+        return identifiersByRawId.size();
+    }
+}
@@ -22,4 +22,11 @@ public interface SoundInstanceState {
     default List<SoundInstanceIdentifier> unsupportedInstances() {
         return List.of();
     }
+
+    /**
+     * Voices with a higher priority are preferred, when the engine voice budget is exceeded
+     */
+    default int getPriority() {
+        return isMainSound() ? 2 : 1;
+    }
 }
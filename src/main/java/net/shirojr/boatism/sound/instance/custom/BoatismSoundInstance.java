@@ -7,7 +7,11 @@ import net.minecraft.client.sound.SoundInstance;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvent;
 import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.shirojr.boatism.BoatismClient;
 import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import net.shirojr.boatism.mixin.client.MovingSoundInstanceAccessor;
+import net.shirojr.boatism.sound.EngineAudioState;
 import net.shirojr.boatism.util.BoatEngineHandler;
 import net.shirojr.boatism.util.LoggerUtil;
 
@@ -15,17 +19,22 @@ import net.shirojr.boatism.util.LoggerUtil;
 public class BoatismSoundInstance extends MovingSoundInstance {
     protected BoatEngineEntity boatEngineEntity;
     protected BoatEngineHandler engineHandler;
+    protected final EngineAudioState audioState;
     protected final int startTransitionTicks;
     protected final int endTransitionTicks;
     protected TransitionState transitionState;
     protected int currentTick = 0, transitionTick = 0;
     protected float distance = 0.0f;
     protected boolean isFinished = false;
+    protected boolean isVirtual = false;
+    protected float audibility = 0.0f;
+    protected int idleTicks = 0;
 
     public BoatismSoundInstance(BoatEngineEntity boatEngineEntity, SoundEvent soundEvent, int startTransitionTicks, int endTransitionTicks) {
         super(soundEvent, SoundCategory.NEUTRAL, SoundInstance.createRandom());
         this.boatEngineEntity = boatEngineEntity;
         this.engineHandler = boatEngineEntity.getEngineHandler();
+        this.audioState = BoatismClient.soundManager.getAudioState(boatEngineEntity);
         this.repeat = true;
         this.repeatDelay = 0;
         this.startTransitionTicks = startTransitionTicks;
@@ -39,6 +48,7 @@ public class BoatismSoundInstance extends MovingSoundInstance {
 
     @Override
     public void tick() {
+        this.audioState.update();
         if (boatEngineEntity.getWorld().getTickManager().shouldTick()) this.currentTick++;
         else return;
         if (this.boatEngineEntity.isRemoved() || boatEngineEntity.isDead()) {
@@ -74,6 +84,7 @@ public class BoatismSoundInstance extends MovingSoundInstance {
 
     @Override
     public boolean canPlay() {
+        this.audioState.update();
         return !this.boatEngineEntity.isSilent();
     }
 
@@ -94,16 +105,15 @@ public class BoatismSoundInstance extends MovingSoundInstance {
     }
 
     protected static void transformSoundForDistance(BoatismSoundInstance soundInstance) {
-        soundInstance.boatEngineEntity.getHookedBoatEntity().ifPresentOrElse(boatEntity -> {
-            double horizontalVelocity = soundInstance.boatEngineEntity.getVelocity().horizontalLength();
+        if (soundInstance.audioState.isHooked()) {
             soundInstance.distance = MathHelper.clamp(soundInstance.distance + 0.0025f, 0.0f, 1.0f);
-            float velocityClamp = (float) MathHelper.clamp(horizontalVelocity, 0.0f, 0.5f);
+            float velocityClamp = MathHelper.clamp(soundInstance.audioState.getSpeed(), 0.0f, 0.5f);
             soundInstance.volume = MathHelper.lerp(velocityClamp, 0.0f, 0.7f);
             soundInstance.pitch = MathHelper.lerp(velocityClamp, 0.9f, 1.2f);
-        }, () -> {
+        } else {
             soundInstance.volume = 0.7f;
             soundInstance.pitch = 1.0f;
-        });
+        }
     }
 
     protected static void transformSoundForTransition(float originalVolume, float originalPitch, BoatismSoundInstance soundInstance) {
@@ -122,8 +132,7 @@ public class BoatismSoundInstance extends MovingSoundInstance {
     }
 
     protected static void transformSoundForEngineLoad(float originalVolume, float originalPitch, BoatismSoundInstance soundInstance) {
-        BoatEngineHandler boatEngineHandler = soundInstance.engineHandler;
-        float normalizedPowerLevel = boatEngineHandler.getPowerLevel() * 0.1f;
+        float normalizedPowerLevel = soundInstance.audioState.getNormalizedLoad();
 
         soundInstance.volume = MathHelper.lerp(normalizedPowerLevel, originalVolume - 0.1f, originalVolume);
         soundInstance.pitch = MathHelper.lerp(normalizedPowerLevel, originalPitch - 0.2f, originalPitch + 0.1f);
@@ -137,6 +146,75 @@ public class BoatismSoundInstance extends MovingSoundInstance {
         return this.isFinished;
     }
 
+    /**
+     * Virtual SoundInstances keep their logical state, but don't occupy a sound source.
+     * They are ticked by the {@link net.shirojr.boatism.sound.BoatismSoundManager BoatismSoundManager}
+     * instead of the vanilla SoundManager.
+     */
+    public boolean isVirtual() {
+        return this.isVirtual;
+    }
+
+    public void setVirtual(boolean isVirtual) {
+        this.isVirtual = isVirtual;
+    }
+
+    public float getAudibility() {
+        return this.audibility;
+    }
+
+    /**
+     * Rates how well this SoundInstance can be heard from the listener's position.
+     * Unlike {@link #getVolume()} this doesn't need the sound to be loaded, so it works for virtual SoundInstances too.
+     */
+    public void updateAudibility(Vec3d listenerPos, int priority) {
+        double squaredDistance = listenerPos.squaredDistanceTo(this.x, this.y, this.z);
+        this.audibility = (float) (priority * (this.volume + 0.05f) / (1.0 + squaredDistance));
+        // keeps voices at the edge of the budget from flapping between real and virtual
+        if (!this.isVirtual) this.audibility *= 1.2f;
+    }
+
+    /**
+     * Lets a fading out or finished voice fade in again, instead of creating a new SoundInstance.<br>
+     * A voice, which is still fading out, continues from its current volume.
+     */
+    public void restart() {
+        if (this.transitionState.equals(TransitionState.FINISHING) && !this.isFinished) {
+            float remainingTransition = 1.0f - (float) this.transitionTick / this.endTransitionTicks;
+            this.transitionTick = Math.round(this.startTransitionTicks * remainingTransition);
+        } else {
+            this.transitionTick = 0;
+            this.currentTick = 0;
+        }
+        this.transitionState = TransitionState.STARTING;
+        this.isFinished = false;
+        this.idleTicks = 0;
+        ((MovingSoundInstanceAccessor) this).setIsDone(false);
+    }
+
+    /**
+     * Ends the voice right away, without fading out, e.g. after the vanilla SoundManager has dropped it.
+     * It is kept as a finished voice, which can be restarted or reaped afterward.
+     */
+    public void markFinished() {
+        this.isFinished = true;
+        this.transitionState = TransitionState.STARTING;
+        this.currentTick = 0;
+        this.transitionTick = 0;
+        this.setDone();
+    }
+
+    /**
+     * @return ticks since this voice has finished
+     */
+    public int tickIdle() {
+        return ++this.idleTicks;
+    }
+
+    public boolean isFinishing() {
+        return this.transitionState.equals(TransitionState.FINISHING);
+    }
+
     public BoatEngineEntity getBoatEngineEntity() {
         return this.boatEngineEntity;
     }
@@ -13,13 +13,13 @@ public class EngineLowFuelSoundInstance extends BoatismSoundInstance implements
 
     @Override
     public boolean canPlay() {
-        return super.canPlay() && boatEngineEntity.getEngineHandler().isLowOnFuel() && boatEngineEntity.isRunning();
+        return super.canPlay() && audioState.isLowOnFuel() && audioState.isRunning();
     }
 
     @Override
     public void tick() {
         super.tick();
-        if (!boatEngineEntity.getEngineHandler().isLowOnFuel() && !transitionState.equals(TransitionState.FINISHING)) {
+        if (!audioState.isLowOnFuel() && !transitionState.equals(TransitionState.FINISHING)) {
             this.finishSoundInstance();
             return;
         }
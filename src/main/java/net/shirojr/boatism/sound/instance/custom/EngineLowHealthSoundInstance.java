@@ -13,13 +13,13 @@ public class EngineLowHealthSoundInstance extends BoatismSoundInstance implement
 
     @Override
     public boolean canPlay() {
-        return super.canPlay() && boatEngineEntity.hasLowHealth();
+        return super.canPlay() && audioState.hasLowHealth();
     }
 
     @Override
     public void tick() {
         super.tick();
-        if (boatEngineEntity.hasLowHealth() && !transitionState.equals(TransitionState.FINISHING)) {
+        if (audioState.hasLowHealth() && !transitionState.equals(TransitionState.FINISHING)) {
             this.finishSoundInstance();
             return;
         }
@@ -6,7 +6,6 @@ import net.minecraft.util.math.MathHelper;
 import net.shirojr.boatism.entity.custom.BoatEngineEntity;
 import net.shirojr.boatism.sound.BoatismSounds;
 import net.shirojr.boatism.sound.instance.SoundInstanceState;
-import net.shirojr.boatism.util.BoatEngineHandler;
 import net.shirojr.boatism.util.LoggerUtil;
 
 @Environment(EnvType.CLIENT)
@@ -20,7 +19,7 @@ public class EngineOverheatingSoundInstance extends BoatismSoundInstance impleme
 
     @Override
     public boolean canPlay() {
-        return super.canPlay() && engineHandler.getOverheat() > 0;
+        return super.canPlay() && audioState.getOverheat() > 0;
     }
 
     @Override
@@ -29,8 +28,8 @@ public class EngineOverheatingSoundInstance extends BoatismSoundInstance impleme
 
         LoggerUtil.devLogger(String.format("Instance: %s | currentTick: %s | transitionTick: %s | transitionState: %s", this.id, currentTick, transitionTick, transitionState));
 
-        float normalizedOverheatTicks = (float) engineHandler.getOverheat() / BoatEngineHandler.MAX_OVERHEAT;
-        boolean isPotentiallyCooling = !engineHandler.isHeatingUp();
+        float normalizedOverheatTicks = audioState.getNormalizedHeat();
+        boolean isPotentiallyCooling = !audioState.isHeatingUp();
         if (isPotentiallyCooling) {
             if (isCoolBuffer > COOL_BUFFER_MAX) {
                 if (!transitionState.equals(TransitionState.FINISHING)) {
@@ -48,6 +47,12 @@ public class EngineOverheatingSoundInstance extends BoatismSoundInstance impleme
         this.volume = MathHelper.lerp(normalizedOverheatTicks, 0.0f, 0.7f);
     }
 
+    @Override
+    public void restart() {
+        super.restart();
+        this.isCoolBuffer = 0;
+    }
+
     @Override
     public boolean isMainSound() {
         return false;
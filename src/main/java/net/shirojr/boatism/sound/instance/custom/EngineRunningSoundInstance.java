@@ -14,13 +14,13 @@ public class EngineRunningSoundInstance extends BoatismSoundInstance implements
 
     @Override
     public boolean canPlay() {
-        return super.canPlay() && !boatEngineEntity.isSubmerged();
+        return super.canPlay() && !audioState.isSubmerged();
     }
 
     @Override
     public void tick() {
         super.tick();
-        if (!boatEngineEntity.isRunning() && !transitionState.equals(TransitionState.FINISHING)) {
+        if (!audioState.isRunning() && !transitionState.equals(TransitionState.FINISHING)) {
             this.finishSoundInstance();
             return;
         }
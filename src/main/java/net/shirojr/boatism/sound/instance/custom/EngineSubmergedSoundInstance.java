@@ -13,13 +13,13 @@ public class EngineSubmergedSoundInstance extends BoatismSoundInstance implement
 
     @Override
     public boolean canPlay() {
-        return super.canPlay() && boatEngineEntity.isSubmerged();
+        return super.canPlay() && audioState.isSubmerged();
     }
 
     @Override
     public void tick() {
         super.tick();
-        if (!boatEngineEntity.isSubmerged() && !transitionState.equals(TransitionState.FINISHING)) {
+        if (!audioState.isSubmerged() && !transitionState.equals(TransitionState.FINISHING)) {
             this.finishSoundInstance();
             return;
         }
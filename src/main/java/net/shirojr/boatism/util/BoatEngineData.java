@@ -0,0 +1,167 @@
+package net.shirojr.boatism.util;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.util.Uuids;
+import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.util.math.EulerAngle;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persisted state of a boat engine, which is stored on the {@link BoatEngineEntity} and on the item of a
+ * picked up boat engine.<br>
+ * All values are stored in one versioned compound. Boolean values are packed into a single flags byte, only occupied
+ * slots are written and values, which are still at their default, are left out entirely.<br>
+ * Compounds of the old layout with separate keys per value are migrated, when they are read.
+ *
+ * @param hookedEntity UUID of the boat, which the engine is hooked to
+ * @param armorItems   equipped armor components
+ * @param heldItems    equipped held components
+ */
+public record BoatEngineData(Optional<UUID> hookedEntity, DefaultedList<ItemStack> armorItems,
+                             DefaultedList<ItemStack> heldItems, int powerLevel, int overheat, float fuel,
+                             EulerAngle armRotation, boolean submerged, boolean locked) {
+    public static final int DATA_VERSION = 1;
+    public static final int ARMOR_SLOTS = 4, HELD_SLOTS = 2;
+    public static final EulerAngle DEFAULT_ARM_ROTATION = new EulerAngle(0.0f, 5.0f, 0.0f);
+    private static final int SUBMERGED_FLAG = 1, LOCKED_FLAG = 1 << 1;
+
+    private static final Codec<EulerAngle> EULER_ANGLE_CODEC = Codec.FLOAT.listOf().comapFlatMap(
+            list -> list.size() == 3 ? DataResult.success(new EulerAngle(list.get(0), list.get(1), list.get(2)))
+                    : DataResult.error(() -> "Expected 3 rotation values, got " + list.size()),
+            angle -> List.of(angle.getPitch(), angle.getYaw(), angle.getRoll()));
+
+    /**
+     * Armor slots are stored with the indices 0 to 3, held slots with the indices 4 and 5
+     */
+    private static final Codec<SlotEntry> SLOT_CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.BYTE.fieldOf(NbtKeys.SLOT).forGetter(SlotEntry::slot),
+            ItemStack.CODEC.fieldOf(NbtKeys.ITEM).forGetter(SlotEntry::stack)
+    ).apply(instance, SlotEntry::new));
+
+    public static final Codec<BoatEngineData> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.INT.fieldOf(NbtKeys.DATA_VERSION).forGetter(data -> DATA_VERSION),
+            Uuids.INT_STREAM_CODEC.optionalFieldOf(NbtKeys.HOOKED_ENTITY).forGetter(BoatEngineData::hookedEntity),
+            SLOT_CODEC.listOf().optionalFieldOf(NbtKeys.SLOTS, List.of()).forGetter(BoatEngineData::getOccupiedSlots),
+            Codec.BYTE.optionalFieldOf(NbtKeys.FLAGS, (byte) 0).forGetter(BoatEngineData::getFlags),
+            Codec.INT.optionalFieldOf(NbtKeys.POWER_OUTPUT, 0).forGetter(BoatEngineData::powerLevel),
+            Codec.INT.optionalFieldOf(NbtKeys.OVERHEAT, 0).forGetter(BoatEngineData::overheat),
+            Codec.FLOAT.optionalFieldOf(NbtKeys.FUEL, 0.0f).forGetter(BoatEngineData::fuel),
+            EULER_ANGLE_CODEC.optionalFieldOf(NbtKeys.ROTATION, DEFAULT_ARM_ROTATION).forGetter(BoatEngineData::armRotation)
+    ).apply(instance, BoatEngineData::decode));
+
+    /**
+     * The stacks are not copied, so the returned data should be written right away
+     */
+    public static BoatEngineData of(BoatEngineEntity boatEngine) {
+        return new BoatEngineData(boatEngine.getHookedBoatEntityUuid(),
+                toList(boatEngine.getArmorItems(), ARMOR_SLOTS, false), toList(boatEngine.getHeldItems(), HELD_SLOTS, false),
+                boatEngine.getPowerLevel(), boatEngine.getOverheat(), boatEngine.getFuel(),
+                boatEngine.getArmRotation(), boatEngine.isSubmerged(), boatEngine.isLocked());
+    }
+
+    /**
+     * Applies all values to the boat engine. The hooked boat is not applied, since it needs to be resolved
+     * separately.
+     */
+    public void applyTo(BoatEngineEntity boatEngine) {
+        boatEngine.setArmorItems(toList(this.armorItems, ARMOR_SLOTS, true));
+        boatEngine.setHeldItems(toList(this.heldItems, HELD_SLOTS, true));
+        boatEngine.setPowerLevel(Math.min(this.powerLevel, BoatEngineHandler.MAX_POWER_LEVEL / 2));
+        boatEngine.setOverheat(this.overheat);
+        boatEngine.setArmRotation(this.armRotation);
+        boatEngine.setSubmerged(this.submerged);
+        boatEngine.setFuel(this.fuel);
+        boatEngine.setLocked(this.locked);
+    }
+
+    public void writeNbt(NbtCompound nbt) {
+        CODEC.encodeStart(NbtOps.INSTANCE, this).resultOrPartial(LoggerUtil.LOGGER::error)
+                .ifPresent(element -> nbt.put(NbtKeys.ENGINE_DATA, element));
+    }
+
+    /**
+     * Reads the data from the versioned compound or migrates it from the old key layout, if the compound
+     * hasn't been written yet
+     *
+     * @return empty, if the compound doesn't contain any boat engine data
+     */
+    public static Optional<BoatEngineData> fromNbt(NbtCompound nbt) {
+        if (nbt.contains(NbtKeys.ENGINE_DATA, NbtElement.COMPOUND_TYPE)) {
+            return CODEC.parse(NbtOps.INSTANCE, nbt.get(NbtKeys.ENGINE_DATA)).resultOrPartial(LoggerUtil.LOGGER::error);
+        }
+        if (nbt.contains(NbtKeys.POWER_OUTPUT) || nbt.contains(NbtKeys.ARMOR_ITEMS) || nbt.contains(NbtKeys.HELD_ITEMS)) {
+            return Optional.of(fromLegacyNbt(nbt));
+        }
+        return Optional.empty();
+    }
+
+    private static BoatEngineData fromLegacyNbt(NbtCompound nbt) {
+        Optional<UUID> hookedEntity = nbt.containsUuid(NbtKeys.HOOKED_ENTITY) ?
+                Optional.of(nbt.getUuid(NbtKeys.HOOKED_ENTITY)) : Optional.empty();
+        EulerAngle armRotation = nbt.contains(NbtKeys.ROTATION, NbtElement.LIST_TYPE) ?
+                new EulerAngle(nbt.getList(NbtKeys.ROTATION, NbtElement.FLOAT_TYPE)) : DEFAULT_ARM_ROTATION;
+        return new BoatEngineData(hookedEntity,
+                toList(BoatEngineNbtHelper.readItemStacksFromNbt(nbt, NbtKeys.ARMOR_ITEMS, ARMOR_SLOTS), ARMOR_SLOTS, false),
+                toList(BoatEngineNbtHelper.readItemStacksFromNbt(nbt, NbtKeys.HELD_ITEMS, HELD_SLOTS), HELD_SLOTS, false),
+                nbt.getInt(NbtKeys.POWER_OUTPUT), nbt.getInt(NbtKeys.OVERHEAT), nbt.getFloat(NbtKeys.FUEL),
+                armRotation, nbt.getBoolean(NbtKeys.IS_SUBMERGED), nbt.getBoolean(NbtKeys.IS_LOCKED));
+    }
+
+    private static BoatEngineData decode(int version, Optional<UUID> hookedEntity, List<SlotEntry> slots, byte flags,
+                                         int powerLevel, int overheat, float fuel, EulerAngle armRotation) {
+        if (version > DATA_VERSION) {
+            LoggerUtil.LOGGER.warn("Boat engine data has been written by a newer version ({} > {})", version, DATA_VERSION);
+        }
+        DefaultedList<ItemStack> armorItems = DefaultedList.ofSize(ARMOR_SLOTS, ItemStack.EMPTY);
+        DefaultedList<ItemStack> heldItems = DefaultedList.ofSize(HELD_SLOTS, ItemStack.EMPTY);
+        for (SlotEntry entry : slots) {
+            int slot = entry.slot();
+            if (slot >= 0 && slot < ARMOR_SLOTS) armorItems.set(slot, entry.stack());
+            else if (slot >= ARMOR_SLOTS && slot < ARMOR_SLOTS + HELD_SLOTS) heldItems.set(slot - ARMOR_SLOTS, entry.stack());
+        }
+        return new BoatEngineData(hookedEntity, armorItems, heldItems, powerLevel, overheat, fuel, armRotation,
+                (flags & SUBMERGED_FLAG) != 0, (flags & LOCKED_FLAG) != 0);
+    }
+
+    private List<SlotEntry> getOccupiedSlots() {
+        List<SlotEntry> slots = new ArrayList<>();
+        for (int i = 0; i < this.armorItems.size(); i++) {
+            if (!this.armorItems.get(i).isEmpty()) slots.add(new SlotEntry((byte) i, this.armorItems.get(i)));
+        }
+        for (int i = 0; i < this.heldItems.size(); i++) {
+            if (!this.heldItems.get(i).isEmpty()) slots.add(new SlotEntry((byte) (ARMOR_SLOTS + i), this.heldItems.get(i)));
+        }
+        return slots;
+    }
+
+    private byte getFlags() {
+        int flags = 0;
+        if (this.submerged) flags |= SUBMERGED_FLAG;
+        if (this.locked) flags |= LOCKED_FLAG;
+        return (byte) flags;
+    }
+
+    private static DefaultedList<ItemStack> toList(Iterable<ItemStack> stacks, int size, boolean copyStacks) {
+        DefaultedList<ItemStack> list = DefaultedList.ofSize(size, ItemStack.EMPTY);
+        int i = 0;
+        for (ItemStack stack : stacks) {
+            if (i >= size) break;
+            list.set(i++, copyStacks ? stack.copy() : stack);
+        }
+        return list;
+    }
+
+    private record SlotEntry(byte slot, ItemStack stack) {
+    }
+}
@@ -1,16 +1,20 @@
 package net.shirojr.boatism.util;
 
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import net.fabricmc.fabric.api.networking.v1.PacketByteBufs;
 import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.entity.vehicle.BoatEntity;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.listener.ClientCommonPacketListener;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvent;
-import net.minecraft.util.collection.DefaultedList;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.MathHelper;
 import net.shirojr.boatism.Boatism;
 import net.shirojr.boatism.api.BoatEngineComponent;
@@ -19,9 +23,8 @@ import net.shirojr.boatism.mixin.BoatEntityInvoker;
 import net.shirojr.boatism.network.BoatismNetworkIdentifiers;
 import net.shirojr.boatism.sound.BoatismSounds;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.UUID;
 
 public class BoatEngineHandler {
     public static final int MAX_POWER_LEVEL = 9;
@@ -29,19 +32,20 @@ public class BoatEngineHandler {
     public static final int MAX_OVERHEAT = Boatism.CONFIG.maxOverheat;
 
     private final BoatEngineEntity boatEngine;
-    private final DefaultedList<ItemStack> heldItems = DefaultedList.ofSize(2);
-    private final DefaultedList<ItemStack> armorItems = DefaultedList.ofSize(4);
+    private BoatEngineStats stats;
+    private final ThrustVector thrustVector = new ThrustVector();
     private boolean canPlayOverheat = true, canPlayLowFuel = true;
+    private int pendingSoundStates = 0, heldSoundStates = 0;
+    private final Object2IntMap<UUID> sentSoundStates = new Object2IntOpenHashMap<>();
 
-    private BoatEngineHandler(BoatEngineEntity boatEngine, List<ItemStack> heldItems, List<ItemStack> armorItems) {
+    private BoatEngineHandler(BoatEngineEntity boatEngine) {
         this.boatEngine = boatEngine;
-        this.heldItems.addAll(heldItems);
-        this.armorItems.addAll(armorItems);
+        this.stats = BoatEngineStats.of(0, boatEngine.getArmorItems(), boatEngine.getHeldItems());
     }
 
-    public static BoatEngineHandler create(BoatEngineEntity boatEngine, List<ItemStack> heldItems, List<ItemStack> armorItems) {
-        BoatEngineHandler engineHandler = new BoatEngineHandler(boatEngine, heldItems, armorItems);
-        engineHandler.soundStateChange(List.of(SoundInstanceIdentifier.NO_SOUND));
+    public static BoatEngineHandler create(BoatEngineEntity boatEngine) {
+        BoatEngineHandler engineHandler = new BoatEngineHandler(boatEngine);
+        engineHandler.soundStateChange(SoundInstanceIdentifier.NO_SOUND);
         return engineHandler;
     }
 
@@ -57,13 +61,13 @@ public class BoatEngineHandler {
     private boolean handleFuel() {
         if (isLowOnFuel()) {
             if (canPlayLowFuel) {
-                soundStateChange(List.of(SoundInstanceIdentifier.ENGINE_LOW_FUEL));
+                soundStateChange(SoundInstanceIdentifier.ENGINE_LOW_FUEL);
                 canPlayLowFuel = false;
             }
         } else {
             if (!canPlayLowFuel) canPlayLowFuel = true;
         }
-        if (!this.boatEngine.getWorld().isClient()) {
+        if (!this.boatEngine.getWorld().isClient() && engineIsRunning()) {
             consumeFuel(1.0f);
         }
         if (getFuel() <= 0) {
@@ -83,7 +87,7 @@ public class BoatEngineHandler {
         }
         if (isHeatingUp()) {
             if (canPlayOverheat) {
-                soundStateChange(List.of(SoundInstanceIdentifier.ENGINE_OVERHEATING));
+                soundStateChange(SoundInstanceIdentifier.ENGINE_OVERHEATING);
                 canPlayOverheat = false;
             }
         } else {
@@ -105,7 +109,7 @@ public class BoatEngineHandler {
         }
         playSoundEvent(BoatismSounds.BOAT_ENGINE_START);
         this.boatEngine.setIsRunning(true);
-        soundStateChange(List.of(SoundInstanceIdentifier.ENGINE_RUNNING));
+        soundStateChange(SoundInstanceIdentifier.ENGINE_RUNNING);
     }
 
     public void stopEngine() {
@@ -137,17 +141,7 @@ public class BoatEngineHandler {
     }
 
     public float getMaxFuelCapacity() {
-        float maxCapacity = MAX_BASE_FUEL;
-
-        for (ItemStack stack : armorItems) {
-            if (!(stack.getItem() instanceof BoatEngineComponent component)) continue;
-            maxCapacity += component.addedFuelCapacity();
-        }
-        for (ItemStack stack : heldItems) {
-            if (!(stack.getItem() instanceof BoatEngineComponent component)) continue;
-            maxCapacity += component.addedFuelCapacity();
-        }
-        return maxCapacity;
+        return this.stats.fuelCapacity();
     }
 
     /**
@@ -160,7 +154,8 @@ public class BoatEngineHandler {
         if (fuel <= 0) return 0;
         if (newFuelValue == MAX_BASE_FUEL + fuel) return fuel;
         playSoundEvent(BoatismSounds.BOAT_ENGINE_FILL_UP);
-        soundStateChange(List.of(SoundInstanceIdentifier.ENGINE_LOW_FUEL));
+        this.boatEngine.forceTrackedValueSync();
+        soundStateChange(SoundInstanceIdentifier.ENGINE_LOW_FUEL);
         if (newFuelValue > MAX_BASE_FUEL) {
             setFuel(MAX_BASE_FUEL);
             return newFuelValue - MAX_BASE_FUEL;
@@ -175,18 +170,7 @@ public class BoatEngineHandler {
     }
 
     private float additionalConsumedFuel() {
-        float fuelPerTick = 0;
-        for (ItemStack entry : this.armorItems) {
-            if (entry.getItem() instanceof BoatEngineComponent component && component.addedConsumedFuel() > 0.0f) {
-                fuelPerTick += component.addedConsumedFuel();
-            }
-        }
-        for (ItemStack entry : this.heldItems) {
-            if (entry.getItem() instanceof BoatEngineComponent component && component.addedConsumedFuel() > 0.0f) {
-                fuelPerTick += component.addedConsumedFuel();
-            }
-        }
-        return fuelPerTick;
+        return this.stats.consumedFuel();
     }
 
     public boolean isLowOnFuel() {
@@ -234,72 +218,197 @@ public class BoatEngineHandler {
     public void setSubmerged(boolean isSubmerged) {
         if (isSubmerged == this.isSubmerged()) return;
         this.boatEngine.setSubmerged(isSubmerged);
-        soundStateChange(List.of(SoundInstanceIdentifier.ENGINE_RUNNING_UNDERWATER));
+        soundStateChange(SoundInstanceIdentifier.ENGINE_RUNNING_UNDERWATER);
     }
 
     public boolean breaksWhenSubmerged() {
-        boolean hasWaterProofedArmorStacks = this.armorItems.stream().allMatch(stack ->
-                stack.getItem() instanceof BoatEngineComponent component && component.waterProofsEngine());
-        boolean hasWaterProofedEquippedStacks = this.heldItems.stream().allMatch(stack ->
-                stack.getItem() instanceof BoatEngineComponent component && component.waterProofsEngine());
-        return !hasWaterProofedArmorStacks && !hasWaterProofedEquippedStacks;
+        return this.stats.breaksWhenSubmerged();
     }
 
     public boolean isLowHealth() {
         return boatEngine.getHealth() < boatEngine.getMaxHealth() * 0.2;
     }
 
+    /**
+     * Pushes the hooked boat into its facing direction, if it is slower than the engine's thrust.<br>
+     * This runs every tick for every running engine, so it only works on primitives and the reused {@link ThrustVector}.
+     */
+    public void applyThrust(BoatEntity hookedBoatEntity) {
+        double thrust = getPowerLevel() * 0.1 * calculateThrustModifier(hookedBoatEntity);
+        this.thrustVector.set(hookedBoatEntity.getYaw(), hookedBoatEntity.getPitch(), thrust);
+        if (hookedBoatEntity.getVelocity().horizontalLengthSquared() < this.thrustVector.horizontalLengthSquared()) {
+            hookedBoatEntity.addVelocity(this.thrustVector.getX(), 0.0, this.thrustVector.getZ());
+        }
+    }
+
     public float calculateThrustModifier(BoatEntity hookedBoatEntity) {
         if (hookedBoatEntity == null) return 0.0f;
-        List<ItemStack> boatComponentStacks = new ArrayList<>();
         int passengerCount = hookedBoatEntity.getPassengerList().size() - 1;    // engine is passenger too
         int maxPassenger = ((BoatEntityInvoker) hookedBoatEntity).invokeGetMaxPassenger();
-        int thrust = 1;
+        return calculateThrustModifier(passengerCount, maxPassenger);
+    }
 
-        this.armorItems.forEach(stack -> {
-            if (stack.getItem() instanceof BoatEngineComponent component && component.addedThrust() > 0.0f) {
-                boatComponentStacks.add(stack);
-            }
-        });
-        this.heldItems.forEach(stack -> {
-            if (stack.getItem() instanceof BoatEngineComponent component && component.addedThrust() > 0.0f) {
-                boatComponentStacks.add(stack);
-            }
-        });
-        for (ItemStack thrustModifierStack : boatComponentStacks) {
-            thrust += ((BoatEngineComponent) thrustModifierStack.getItem()).addedThrust();
-        }
+    public float calculateThrustModifier(int passengerCount, int maxPassenger) {
         float passengerDeficit = (float) passengerCount / maxPassenger;
-        return thrust * MathHelper.lerp(passengerDeficit, 1.0f, 0.7f);
+        return this.stats.thrust() * MathHelper.lerp(passengerDeficit, 1.0f, 0.7f);
     }
 
     public boolean canEquipPart(ItemStack stack) {
         if (!(stack.getItem() instanceof BoatEngineComponent)) return false;
-        List<Item> flaggedParts = new ArrayList<>();
-        for (ItemStack entry : this.armorItems) {
-            if (entry.getItem() instanceof BoatEngineComponent component) {
-                flaggedParts.addAll(component.getConflictingParts());
+        return !this.stats.conflictingParts().contains(stack.getItem());
+    }
+
+    public BoatEngineStats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * Rebuilds the cached {@link BoatEngineStats} from the engine's current equipment.
+     * Needs to be called whenever a slot of the engine has been changed.
+     */
+    public void refreshStats() {
+        this.stats = BoatEngineStats.of(this.stats.version() + 1,
+                this.boatEngine.getArmorItems(), this.boatEngine.getHeldItems());
+    }
+
+    /**
+     * Sound state changes are collected during the tick and sent with {@link #flushSoundStateChanges()}.
+     */
+    public void soundStateChange(SoundInstanceIdentifier changedSound) {
+        this.pendingSoundStates |= changedSound.getBit();
+    }
+
+    /**
+     * Starts a SoundInstance, which has been registered in the {@link SoundInstanceRegistry} by an addon
+     */
+    public void soundStateChange(Identifier changedSound) {
+        int rawId = SoundInstanceRegistry.getRawId(changedSound);
+        if (rawId < 0) {
+            LoggerUtil.LOGGER.error("Tried to start unregistered SoundInstance {}", changedSound);
+            return;
+        }
+        this.pendingSoundStates |= 1 << rawId;
+    }
+
+    public void soundStateChange(List<SoundInstanceIdentifier> changedSoundList) {
+        for (SoundInstanceIdentifier entry : changedSoundList) {
+            this.pendingSoundStates |= entry.getBit();
+        }
+    }
+
+    /**
+     * Sends all sound state changes of the current tick to every nearby player.<br>
+     * States, which a player has already received and which have been held since then, are filtered out. So are states,
+     * which the engine doesn't hold anymore, since their SoundInstance would finish right away on the client.<br>
+     * Players, which would receive the same states, share a single packet.<br>
+     * Every {@link net.shirojr.boatism.config.BoatismConfig#soundRefreshInterval soundRefreshInterval} the held states
+     * are {@linkplain #refreshHeldSoundStates refreshed} as well.
+     */
+    public void flushSoundStateChanges() {
+        if (!(boatEngine.getWorld() instanceof ServerWorld serverWorld)) return;
+        int heldSoundStates = getHeldSoundStates();
+        int droppedSoundStates = this.heldSoundStates & ~heldSoundStates;
+        this.heldSoundStates = heldSoundStates;
+        if (droppedSoundStates != 0) {
+            for (Object2IntMap.Entry<UUID> entry : this.sentSoundStates.object2IntEntrySet()) {
+                entry.setValue(entry.getIntValue() & ~droppedSoundStates);
             }
         }
-        for (ItemStack entry : this.heldItems) {
-            if (entry.getItem() instanceof BoatEngineComponent component) {
-                flaggedParts.addAll(component.getConflictingParts());
+        int refreshTicks = Boatism.CONFIG.soundRefreshInterval * 20;
+        // offset by the entity id, so the refreshes of all engines are spread over the interval
+        if (heldSoundStates != 0 && refreshTicks > 0 && (serverWorld.getTime() + boatEngine.getId()) % refreshTicks == 0) {
+            this.refreshHeldSoundStates(serverWorld, heldSoundStates);
+        }
+
+        if (this.pendingSoundStates == 0) return;
+        int soundStates = this.pendingSoundStates;
+        this.pendingSoundStates = 0;
+        LoggerUtil.devLogger("before S2C is running: " + boatEngine.isRunning());
+
+        int packetSoundStates = 0;
+        Packet<ClientCommonPacketListener> packet = null;
+        for (ServerPlayerEntity player : PlayerLookup.around(serverWorld, boatEngine.getPos(), 30)) {
+            int sentSoundStates = this.sentSoundStates.getInt(player.getUuid());
+            // addon SoundInstances don't have a held state and are always passed on
+            int changedSoundStates = soundStates & ~sentSoundStates
+                    & (heldSoundStates | SoundInstanceIdentifier.NO_SOUND.getBit() | ~SoundInstanceIdentifier.getBuiltInMask());
+            if (changedSoundStates == 0) continue;
+            if (SoundInstanceIdentifier.NO_SOUND.isSetIn(changedSoundStates)) sentSoundStates = 0;
+            this.sentSoundStates.put(player.getUuid(), (sentSoundStates | changedSoundStates) & heldSoundStates);
+
+            if (packet == null || packetSoundStates != changedSoundStates) {
+                packetSoundStates = changedSoundStates;
+                packet = ServerPlayNetworking.createS2CPacket(BoatismNetworkIdentifiers.SOUND_START.getPacketIdentifier(),
+                        createSoundStatePacket(this.boatEngine.getId(), changedSoundStates));
             }
+            player.networkHandler.sendPacket(packet);
         }
-        return !flaggedParts.contains(stack.getItem());
     }
 
-    public void soundStateChange(List<SoundInstanceIdentifier> changedSoundList) {
-        if (!(boatEngine.getWorld() instanceof ServerWorld serverWorld)) return;
-        PlayerLookup.around(serverWorld, boatEngine.getPos(), 30).forEach(player -> {
-            for (SoundInstanceIdentifier entry : changedSoundList) {
-                PacketByteBuf buf = PacketByteBufs.create();
-                buf.writeVarInt(this.boatEngine.getId());
-                buf.writeIdentifier(entry.getIdentifier());
-                LoggerUtil.devLogger("before S2C is running: " + boatEngine.isRunning());
-                ServerPlayNetworking.send(player, BoatismNetworkIdentifiers.SOUND_START.getPacketIdentifier(), buf);
+    /**
+     * Sends the held states again to every nearby player, which already knows them.<br>
+     * The client might have lost a held voice, e.g. after the vanilla SoundManager dropped it while it couldn't be
+     * played. Since held states are never sent twice by {@link #flushSoundStateChanges()}, such a voice would
+     * otherwise stay silent until the state changes. The client only restores voices, which aren't live anymore,
+     * so a refresh never interrupts the voices, which are currently playing.
+     */
+    private void refreshHeldSoundStates(ServerWorld serverWorld, int heldSoundStates) {
+        int packetSoundStates = 0;
+        Packet<ClientCommonPacketListener> packet = null;
+        for (ServerPlayerEntity player : PlayerLookup.around(serverWorld, boatEngine.getPos(), 30)) {
+            int refreshedSoundStates = this.sentSoundStates.getInt(player.getUuid()) & heldSoundStates;
+            if (refreshedSoundStates == 0) continue;
+            if (packet == null || packetSoundStates != refreshedSoundStates) {
+                packetSoundStates = refreshedSoundStates;
+                packet = ServerPlayNetworking.createS2CPacket(BoatismNetworkIdentifiers.SOUND_REFRESH.getPacketIdentifier(),
+                        createSoundStatePacket(this.boatEngine.getId(), refreshedSoundStates));
             }
-        });
+            player.networkHandler.sendPacket(packet);
+        }
+    }
+
+    /**
+     * @return bitmask of all {@link SoundInstanceIdentifier SoundInstanceIdentifiers},
+     * which the engine's current state would keep playing on the client
+     */
+    private int getHeldSoundStates() {
+        int soundStates = 0;
+        if (engineIsRunning()) soundStates |= SoundInstanceIdentifier.ENGINE_RUNNING.getBit();
+        if (isSubmerged()) soundStates |= SoundInstanceIdentifier.ENGINE_RUNNING_UNDERWATER.getBit();
+        if (isLowOnFuel()) soundStates |= SoundInstanceIdentifier.ENGINE_LOW_FUEL.getBit();
+        if (isLowHealth()) soundStates |= SoundInstanceIdentifier.ENGINE_LOW_HEALTH.getBit();
+        if (isHeatingUp()) soundStates |= SoundInstanceIdentifier.ENGINE_OVERHEATING.getBit();
+        return soundStates;
+    }
+
+    /**
+     * Sends the complete current sound state of the engine only to the player, which just started tracking it.<br>
+     * Nearby players, which already know the engine, won't receive anything.
+     */
+    public void sendInitialSoundStates(ServerPlayerEntity player) {
+        int heldSoundStates = getHeldSoundStates();
+        this.sentSoundStates.put(player.getUuid(), heldSoundStates);
+        if (heldSoundStates == 0) return;
+        ServerPlayNetworking.send(player, BoatismNetworkIdentifiers.SOUND_START.getPacketIdentifier(),
+                createSoundStatePacket(this.boatEngine.getId(), heldSoundStates));
+    }
+
+    /**
+     * Forgets the sound states, which have been sent to the player.
+     * Needs to be called when the player stops tracking the engine.
+     */
+    public void clearSentSoundStates(ServerPlayerEntity player) {
+        this.sentSoundStates.removeInt(player.getUuid());
+    }
+
+    /**
+     * @param soundStates bitmask of the changed {@link SoundInstanceIdentifier SoundInstanceIdentifiers}
+     */
+    public static PacketByteBuf createSoundStatePacket(int boatEngineId, int soundStates) {
+        PacketByteBuf buf = PacketByteBufs.create();
+        buf.writeVarInt(boatEngineId);
+        buf.writeVarInt(soundStates);
+        return buf;
     }
 
     private void playSoundEvent(SoundEvent soundEvent) {
@@ -0,0 +1,85 @@
+package net.shirojr.boatism.util;
+
+import net.minecraft.entity.vehicle.BoatEntity;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boat engines, which have been loaded before their hooked {@link BoatEntity}.<br>
+ * Instead of looking up the boat's UUID every tick, the engine waits in this queue until the boat's entity load event
+ * resolves the link. Links, which stay unresolved for longer than {@link #REPORT_AFTER_TICKS}, are reported once.
+ */
+public class BoatEngineHookQueue {
+    public static final int REPORT_AFTER_TICKS = 20 * 30;
+    private static final int REPORT_INTERVAL = 20;
+
+    private final Map<UUID, PendingHook> pendingByBoatUuid = new HashMap<>();
+    private int resolvedCount = 0, reportedCount = 0;
+
+    public void enqueue(BoatEngineEntity boatEngine, UUID boatUuid, long worldTime) {
+        this.pendingByBoatUuid.put(boatUuid, new PendingHook(boatEngine, worldTime));
+    }
+
+    public void remove(BoatEngineEntity boatEngine, @Nullable UUID boatUuid) {
+        if (boatUuid == null) return;
+        PendingHook pendingHook = this.pendingByBoatUuid.get(boatUuid);
+        if (pendingHook != null && pendingHook.boatEngine == boatEngine) this.pendingByBoatUuid.remove(boatUuid);
+    }
+
+    public boolean isPending(BoatEngineEntity boatEngine) {
+        UUID boatUuid = boatEngine.getHookedBoatEntityUuid().orElse(null);
+        if (boatUuid == null) return false;
+        PendingHook pendingHook = this.pendingByBoatUuid.get(boatUuid);
+        return pendingHook != null && pendingHook.boatEngine == boatEngine;
+    }
+
+    /**
+     * @return the engine, which has been waiting for this boat, or null if there is none
+     */
+    @Nullable
+    public BoatEngineEntity poll(UUID boatUuid) {
+        PendingHook pendingHook = this.pendingByBoatUuid.remove(boatUuid);
+        if (pendingHook == null) return null;
+        this.resolvedCount++;
+        return pendingHook.boatEngine;
+    }
+
+    public void tick(long worldTime) {
+        if (worldTime % REPORT_INTERVAL != 0 || this.pendingByBoatUuid.isEmpty()) return;
+        this.pendingByBoatUuid.forEach((boatUuid, pendingHook) -> {
+            if (pendingHook.reported || worldTime - pendingHook.queuedTime < REPORT_AFTER_TICKS) return;
+            pendingHook.reported = true;
+            this.reportedCount++;
+            LoggerUtil.LOGGER.warn("Boat engine {} at {} couldn't resolve its hooked boat {} for {} ticks",
+                    pendingHook.boatEngine.getUuid(), pendingHook.boatEngine.getBlockPos().toShortString(), boatUuid,
+                    worldTime - pendingHook.queuedTime);
+        });
+    }
+
+    public int size() {
+        return this.pendingByBoatUuid.size();
+    }
+
+    public int getResolvedCount() {
+        return this.resolvedCount;
+    }
+
+    public int getReportedCount() {
+        return this.reportedCount;
+    }
+
+    private static class PendingHook {
+        private final BoatEngineEntity boatEngine;
+        private final long queuedTime;
+        private boolean reported = false;
+
+        private PendingHook(BoatEngineEntity boatEngine, long queuedTime) {
+            this.boatEngine = boatEngine;
+            this.queuedTime = queuedTime;
+        }
+    }
+}
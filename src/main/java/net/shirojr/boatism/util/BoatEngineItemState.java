@@ -0,0 +1,105 @@
+package net.shirojr.boatism.util;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.*;
+import net.minecraft.util.math.MathHelper;
+import net.shirojr.boatism.item.BoatismItems;
+
+import java.io.*;
+import java.util.Optional;
+
+/**
+ * Lazily decoded view on the {@link BoatEngineData} of a picked up boat engine item.<br>
+ * The summary values are read straight from the stack's NBT. The equipped components are packed into a single byte
+ * array, so copies, comparisons and syncs of the stack don't have to walk nested item compounds. They are only
+ * decoded, when the engine is placed again.
+ */
+public class BoatEngineItemState {
+    private final NbtCompound engineNbt;
+
+    private BoatEngineItemState(NbtCompound engineNbt) {
+        this.engineNbt = engineNbt;
+    }
+
+    /**
+     * @return empty, if the stack doesn't hold any boat engine data
+     */
+    public static Optional<BoatEngineItemState> of(ItemStack stack) {
+        NbtCompound stackNbt = stack.getNbt();
+        if (stackNbt == null) return Optional.empty();
+        if (stackNbt.contains(NbtKeys.ENGINE_DATA, NbtElement.COMPOUND_TYPE)) {
+            return Optional.of(new BoatEngineItemState(stackNbt.getCompound(NbtKeys.ENGINE_DATA)));
+        }
+        // items of the old layout are converted, but the stack itself stays untouched
+        return BoatEngineData.fromNbt(stackNbt).map(data -> new BoatEngineItemState(pack(data)));
+    }
+
+    public static ItemStack createStack(BoatEngineData data) {
+        ItemStack stack = new ItemStack(BoatismItems.BASE_ENGINE);
+        stack.getOrCreateNbt().put(NbtKeys.ENGINE_DATA, pack(data));
+        return stack;
+    }
+
+    public int getPowerLevel() {
+        return this.engineNbt.getInt(NbtKeys.POWER_OUTPUT);
+    }
+
+    public int getOverheat() {
+        return this.engineNbt.getInt(NbtKeys.OVERHEAT);
+    }
+
+    public float getFuel() {
+        return this.engineNbt.getFloat(NbtKeys.FUEL);
+    }
+
+    public int getPartCount() {
+        return this.engineNbt.getByte(NbtKeys.PART_COUNT);
+    }
+
+    /**
+     * Fully decodes the engine data including the equipped components
+     */
+    public Optional<BoatEngineData> decode() {
+        NbtCompound engineNbt = this.engineNbt.copy();
+        if (engineNbt.contains(NbtKeys.PACKED_SLOTS, NbtElement.BYTE_ARRAY_TYPE)) {
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(engineNbt.getByteArray(NbtKeys.PACKED_SLOTS)))) {
+                NbtCompound slotsNbt = NbtIo.read(input, NbtTagSizeTracker.ofUnlimitedBytes());
+                engineNbt.put(NbtKeys.SLOTS, slotsNbt.getList(NbtKeys.SLOTS, NbtElement.COMPOUND_TYPE));
+            } catch (IOException e) {
+                LoggerUtil.LOGGER.error("Couldn't unpack equipped parts of boat engine item", e);
+            }
+            engineNbt.remove(NbtKeys.PACKED_SLOTS);
+            engineNbt.remove(NbtKeys.PART_COUNT);
+        }
+        NbtCompound wrapper = new NbtCompound();
+        wrapper.put(NbtKeys.ENGINE_DATA, engineNbt);
+        return BoatEngineData.fromNbt(wrapper);
+    }
+
+    /**
+     * Encodes the data without the hooked boat, which is not valid anymore for a picked up engine
+     */
+    private static NbtCompound pack(BoatEngineData data) {
+        BoatEngineData itemData = new BoatEngineData(Optional.empty(), data.armorItems(), data.heldItems(),
+                data.powerLevel(), data.overheat(), data.fuel(), data.armRotation(), data.submerged(), data.locked());
+        NbtCompound wrapper = new NbtCompound();
+        itemData.writeNbt(wrapper);
+        NbtCompound engineNbt = wrapper.getCompound(NbtKeys.ENGINE_DATA);
+        if (!engineNbt.contains(NbtKeys.SLOTS, NbtElement.LIST_TYPE)) return engineNbt;
+
+        NbtList slots = engineNbt.getList(NbtKeys.SLOTS, NbtElement.COMPOUND_TYPE);
+        NbtCompound slotsNbt = new NbtCompound();
+        slotsNbt.put(NbtKeys.SLOTS, slots);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            NbtIo.write(slotsNbt, output);
+        } catch (IOException e) {
+            LoggerUtil.LOGGER.error("Couldn't pack equipped parts of boat engine item", e);
+            return engineNbt;
+        }
+        engineNbt.remove(NbtKeys.SLOTS);
+        engineNbt.putByteArray(NbtKeys.PACKED_SLOTS, bytes.toByteArray());
+        engineNbt.putByte(NbtKeys.PART_COUNT, (byte) MathHelper.clamp(slots.size(), 0, Byte.MAX_VALUE));
+        return engineNbt;
+    }
+}
@@ -0,0 +1,159 @@
+package net.shirojr.boatism.util;
+
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.entity.vehicle.BoatEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.ItemScatterer;
+import net.minecraft.util.math.Box;
+import net.shirojr.boatism.Boatism;
+import net.shirojr.boatism.config.BoatismConfig;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Incrementally checks the registered {@link BoatEngineEntity BoatEngineEntities} of a world for orphans.<br>
+ * An engine is an orphan, if it isn't hooked to any boat, if its hooked boat can't be resolved or if the boat refers to
+ * a different engine. Engines, which have been orphaned for longer than the configured grace period, are handled
+ * according to the {@link BoatismConfig.OrphanPolicy}.<br>
+ * Engines, which are still waiting for their boat in the {@link BoatEngineHookQueue}, are never orphans, since their
+ * boat may stay unloaded for any amount of time. The queue reports them instead.<br>
+ * Only a bounded slice of engines is checked per tick, within a time budget, so the sweep never causes lag spikes.
+ */
+public class BoatEngineOrphanSweeper {
+    private static final double REHOME_RANGE = 4.0;
+
+    private final List<BoatEngineEntity> sweepQueue = new ArrayList<>();
+    private final Object2LongMap<UUID> orphanedSince = new Object2LongOpenHashMap<>();
+    private int sweepIndex = 0;
+    private int orphansFound = 0, orphansCollected = 0, orphansRehomed = 0, linksRepaired = 0;
+    private long lastSweepNanos = 0;
+
+    public void tick(ServerWorld world, BoatEngineRegistry registry) {
+        BoatismConfig.OrphanPolicy policy = Boatism.CONFIG.orphanPolicy;
+        if (policy == null) return;
+        if (this.sweepIndex >= this.sweepQueue.size()) {
+            // start the next pass with a snapshot, so engines can be removed while sweeping
+            this.sweepQueue.clear();
+            this.sweepQueue.addAll(registry.getEngines());
+            this.sweepIndex = 0;
+            this.orphanedSince.keySet().removeIf(uuid -> registry.getByUuid(uuid).isEmpty());
+        }
+        long start = System.nanoTime();
+        long budgetNanos = Boatism.CONFIG.orphanSweepBudgetMicros * 1000L;
+        int checkedEngines = 0;
+        while (this.sweepIndex < this.sweepQueue.size() && checkedEngines < Boatism.CONFIG.orphanSweepEnginesPerTick) {
+            BoatEngineEntity boatEngine = this.sweepQueue.get(this.sweepIndex++);
+            checkedEngines++;
+            if (!boatEngine.isRemoved() && boatEngine.getWorld() == world) {
+                this.sweep(boatEngine, world, registry, policy);
+            }
+            if (System.nanoTime() - start > budgetNanos) break;
+        }
+        this.lastSweepNanos = System.nanoTime() - start;
+    }
+
+    private void sweep(BoatEngineEntity boatEngine, ServerWorld world, BoatEngineRegistry registry,
+                       BoatismConfig.OrphanPolicy policy) {
+        if (!this.isOrphan(boatEngine, registry)) {
+            this.orphanedSince.removeLong(boatEngine.getUuid());
+            return;
+        }
+        if (!this.orphanedSince.containsKey(boatEngine.getUuid())) {
+            this.orphanedSince.put(boatEngine.getUuid(), world.getTime());
+            this.orphansFound++;
+            LoggerUtil.devLogger("found orphaned boat engine %s".formatted(boatEngine.getUuid()));
+            return;
+        }
+        long orphanedTicks = world.getTime() - this.orphanedSince.getLong(boatEngine.getUuid());
+        if (orphanedTicks < Boatism.CONFIG.orphanGraceSeconds * 20L) return;
+
+        switch (policy) {
+            case KEEP -> {
+                return;
+            }
+            case REHOME -> {
+                BoatEntity boatEntity = this.findFreeBoat(boatEngine, world, registry);
+                if (boatEntity != null) {
+                    boatEngine.hookOntoBoatEntity(boatEntity);
+                    this.orphansRehomed++;
+                    this.orphanedSince.removeLong(boatEngine.getUuid());
+                    return;
+                }
+                this.collect(boatEngine, world);
+            }
+            case DROP -> this.collect(boatEngine, world);
+        }
+        this.orphanedSince.removeLong(boatEngine.getUuid());
+    }
+
+    /**
+     * Restores the boat's back reference on the way, if it has been lost while the engine is still hooked to it
+     */
+    private boolean isOrphan(BoatEngineEntity boatEngine, BoatEngineRegistry registry) {
+        if (boatEngine.getHookedBoatEntityUuid().isEmpty()) return true;
+        if (registry.getHookQueue().isPending(boatEngine)) return false;
+        BoatEntity boatEntity = boatEngine.resolveHookedBoatEntity();
+        if (boatEntity == null) return true;
+        BoatEngineCoupler coupler = (BoatEngineCoupler) boatEntity;
+        Optional<UUID> boatEngineUuid = coupler.boatism$getBoatEngineEntityUuid();
+        if (boatEngineUuid.isEmpty()) {
+            coupler.boatism$setBoatEngineEntity(boatEngine.getUuid());
+            this.linksRepaired++;
+            return false;
+        }
+        if (boatEngineUuid.get().equals(boatEngine.getUuid())) return false;
+        // the boat refers to another engine, which is still loaded
+        return registry.getByUuid(boatEngineUuid.get()).filter(other -> !other.isRemoved()).isPresent();
+    }
+
+    @Nullable
+    private BoatEntity findFreeBoat(BoatEngineEntity boatEngine, ServerWorld world, BoatEngineRegistry registry) {
+        Box searchBox = boatEngine.getBoundingBox().expand(REHOME_RANGE);
+        return world.getEntitiesByClass(BoatEntity.class, searchBox, boatEntity -> !boatEntity.isRemoved()
+                        && ((BoatEngineCoupler) boatEntity).boatism$getBoatEngineEntityUuid().isEmpty()
+                        && registry.getByBoat(boatEntity).isEmpty())
+                .stream()
+                .min(Comparator.comparingDouble(boatEngine::squaredDistanceTo))
+                .orElse(null);
+    }
+
+    /**
+     * Drops the engine as an item, so the equipped parts aren't lost
+     */
+    private void collect(BoatEngineEntity boatEngine, ServerWorld world) {
+        ItemScatterer.spawn(world, boatEngine.getX(), boatEngine.getY(), boatEngine.getZ(),
+                BoatEngineNbtHelper.getItemStackFromBoatEngineEntity(boatEngine));
+        boatEngine.discard();
+        this.orphansCollected++;
+    }
+
+    /**
+     * @return amount of currently known orphans, which are still within their grace period
+     */
+    public int getPendingOrphans() {
+        return this.orphanedSince.size();
+    }
+
+    public int getOrphansFound() {
+        return this.orphansFound;
+    }
+
+    public int getOrphansCollected() {
+        return this.orphansCollected;
+    }
+
+    public int getOrphansRehomed() {
+        return this.orphansRehomed;
+    }
+
+    public int getLinksRepaired() {
+        return this.linksRepaired;
+    }
+
+    public long getLastSweepNanos() {
+        return this.lastSweepNanos;
+    }
+}
@@ -0,0 +1,151 @@
+package net.shirojr.boatism.util;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.vehicle.BoatEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.World;
+import net.shirojr.boatism.entity.custom.BoatEngineEntity;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Index of all loaded {@link BoatEngineEntity BoatEngineEntities} of a single world.<br>
+ * Entries are added and removed by the entity load and unload events, so lookups don't have to search
+ * through the world's entity sections.
+ */
+public class BoatEngineRegistry {
+    private final Map<UUID, BoatEngineEntity> enginesByUuid = new HashMap<>();
+    private final Int2ObjectMap<BoatEngineEntity> enginesById = new Int2ObjectOpenHashMap<>();
+    private final Map<UUID, BoatEngineEntity> enginesByBoatUuid = new HashMap<>();
+    private final Collection<BoatEngineEntity> engines = Collections.unmodifiableCollection(this.enginesByUuid.values());
+    private final BoatEngineHookQueue hookQueue = new BoatEngineHookQueue();
+    private final BoatEngineOrphanSweeper orphanSweeper = new BoatEngineOrphanSweeper();
+    private int staleLinksCleared = 0;
+
+    public static BoatEngineRegistry get(World world) {
+        return ((BoatEngineRegistryHolder) world).boatism$getBoatEngineRegistry();
+    }
+
+    public void register(BoatEngineEntity boatEngine) {
+        this.enginesByUuid.put(boatEngine.getUuid(), boatEngine);
+        this.enginesById.put(boatEngine.getId(), boatEngine);
+        boatEngine.getHookedBoatEntityUuid().ifPresent(boatUuid -> this.enginesByBoatUuid.put(boatUuid, boatEngine));
+    }
+
+    public void unregister(BoatEngineEntity boatEngine) {
+        if (!this.enginesByUuid.remove(boatEngine.getUuid(), boatEngine)) return;
+        this.enginesById.remove(boatEngine.getId(), boatEngine);
+        boatEngine.getHookedBoatEntityUuid().ifPresent(boatUuid -> {
+            this.enginesByBoatUuid.remove(boatUuid, boatEngine);
+            this.hookQueue.remove(boatEngine, boatUuid);
+        });
+    }
+
+    /**
+     * Links a newly loaded engine with its hooked boat. If the boat hasn't been loaded yet, the engine is queued
+     * until {@link #onBoatLoaded(BoatEntity)} is called for it.
+     */
+    public void resolveHook(BoatEngineEntity boatEngine, ServerWorld world) {
+        UUID boatUuid = boatEngine.getHookedBoatEntityUuid().orElse(null);
+        if (boatUuid == null) return;
+        if (boatEngine.getVehicle() instanceof BoatEntity boatEntity && boatEntity.getUuid().equals(boatUuid)) {
+            // restores the reference, if the boat has been loaded first and cleared it
+            if (((BoatEngineCoupler) boatEntity).boatism$getBoatEngineEntityUuid().isEmpty()) {
+                ((BoatEngineCoupler) boatEntity).boatism$setBoatEngineEntity(boatEngine.getUuid());
+            }
+            return;
+        }
+        if (world.getEntity(boatUuid) instanceof BoatEntity boatEntity && !boatEntity.isRemoved()) {
+            boatEngine.onHookedBoatLoaded(boatEntity);
+            return;
+        }
+        this.hookQueue.enqueue(boatEngine, boatUuid, world.getTime());
+    }
+
+    /**
+     * Resolves the engine, which has been waiting for this boat, or the engine which the boat itself refers to.<br>
+     * If the boat refers to an engine, which is neither loaded and hooked to it, nor waiting for it, the stale
+     * reference is cleared, so the boat can take an engine again. Should the engine be loaded later on, its
+     * {@link #resolveHook} restores the reference.
+     */
+    public void onBoatLoaded(BoatEntity boatEntity) {
+        BoatEngineEntity boatEngine = this.hookQueue.poll(boatEntity.getUuid());
+        if (boatEngine != null && !boatEngine.isRemoved()) {
+            boatEngine.onHookedBoatLoaded(boatEntity);
+            return;
+        }
+        BoatEngineCoupler coupler = (BoatEngineCoupler) boatEntity;
+        UUID boatEngineUuid = coupler.boatism$getBoatEngineEntityUuid().orElse(null);
+        if (boatEngineUuid == null) return;
+        boatEngine = this.enginesByUuid.get(boatEngineUuid);
+        if (boatEngine != null && !boatEngine.isRemoved()
+                && boatEngine.getHookedBoatEntityUuid().filter(boatEntity.getUuid()::equals).isPresent()) {
+            if (boatEngine.getVehicle() != boatEntity) boatEngine.onHookedBoatLoaded(boatEntity);
+            return;
+        }
+        // riding engines are loaded right after their boat
+        for (Entity passenger : boatEntity.getPassengerList()) {
+            if (passenger instanceof BoatEngineEntity && passenger.getUuid().equals(boatEngineUuid)) return;
+        }
+        coupler.boatism$setBoatEngineEntity(null);
+        this.staleLinksCleared++;
+        LoggerUtil.devLogger("cleared stale boat engine %s of boat %s".formatted(boatEngineUuid, boatEntity.getUuid()));
+    }
+
+    /**
+     * Keeps the reverse lookup up to date, if a registered engine has been hooked onto a different boat.
+     */
+    public void updateHookedBoat(BoatEngineEntity boatEngine, @Nullable UUID previousBoatUuid, @Nullable UUID boatUuid) {
+        if (this.enginesByUuid.get(boatEngine.getUuid()) != boatEngine) return;
+        if (previousBoatUuid != null) {
+            this.enginesByBoatUuid.remove(previousBoatUuid, boatEngine);
+            this.hookQueue.remove(boatEngine, previousBoatUuid);
+        }
+        if (boatUuid != null) this.enginesByBoatUuid.put(boatUuid, boatEngine);
+    }
+
+    public Optional<BoatEngineEntity> getByUuid(@Nullable UUID uuid) {
+        if (uuid == null) return Optional.empty();
+        return Optional.ofNullable(this.enginesByUuid.get(uuid));
+    }
+
+    @Nullable
+    public BoatEngineEntity getById(int id) {
+        return this.enginesById.get(id);
+    }
+
+    public Optional<BoatEngineEntity> getByBoat(BoatEntity boatEntity) {
+        Optional<UUID> boatEngineUuid = ((BoatEngineCoupler) boatEntity).boatism$getBoatEngineEntityUuid();
+        if (boatEngineUuid.isPresent()) return this.getByUuid(boatEngineUuid.get());
+        return Optional.ofNullable(this.enginesByBoatUuid.get(boatEntity.getUuid()));
+    }
+
+    /**
+     * @return unmodifiable view of all registered engines. Copy it, before removing engines while iterating.
+     */
+    public Collection<BoatEngineEntity> getEngines() {
+        return this.engines;
+    }
+
+    public BoatEngineHookQueue getHookQueue() {
+        return this.hookQueue;
+    }
+
+    public BoatEngineOrphanSweeper getOrphanSweeper() {
+        return this.orphanSweeper;
+    }
+
+    /**
+     * @return amount of loaded boats, which referred to an engine that was neither loaded nor waiting for them
+     */
+    public int getStaleLinksCleared() {
+        return this.staleLinksCleared;
+    }
+
+    public int size() {
+        return this.enginesByUuid.size();
+    }
+}
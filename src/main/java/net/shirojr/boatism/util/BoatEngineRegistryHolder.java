@@ -0,0 +1,5 @@
+package net.shirojr.boatism.util;
+
+public interface BoatEngineRegistryHolder {
+    BoatEngineRegistry boatism$getBoatEngineRegistry();
+}
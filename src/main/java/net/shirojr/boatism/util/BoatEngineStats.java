@@ -0,0 +1,62 @@
+package net.shirojr.boatism.util;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.shirojr.boatism.api.BoatEngineComponent;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the stats, which are provided by the equipped
+ * {@link BoatEngineComponent BoatEngineComponents} of a boat engine.<br>
+ * It is only rebuilt by the {@link BoatEngineHandler} when a slot of the engine changes, so per tick queries
+ * only have to read its fields instead of walking the component stacks again.
+ *
+ * @param version              increases with every rebuild of the engine's stats
+ * @param thrust               base thrust including the thrust of all components
+ * @param consumedFuel         additional fuel consumption per tick
+ * @param fuelCapacity         maximum fuel capacity including the base fuel capacity
+ * @param armor                additional armor of all components
+ * @param breaksWhenSubmerged  true, if the engine will stop running underwater
+ * @param conflictingParts     parts, which can't be equipped with the current components
+ */
+public record BoatEngineStats(int version, int thrust, float consumedFuel, float fuelCapacity, float armor,
+                              boolean breaksWhenSubmerged, Set<Item> conflictingParts) {
+
+    public static BoatEngineStats of(int version, Iterable<ItemStack> armorItems, Iterable<ItemStack> heldItems) {
+        Builder builder = new Builder();
+        builder.addAll(armorItems);
+        boolean hasWaterProofedArmorStacks = builder.allWaterProof;
+        builder.allWaterProof = true;
+        builder.addAll(heldItems);
+        boolean hasWaterProofedEquippedStacks = builder.allWaterProof;
+
+        return new BoatEngineStats(version, builder.thrust, builder.consumedFuel, builder.fuelCapacity, builder.armor,
+                !hasWaterProofedArmorStacks && !hasWaterProofedEquippedStacks, Set.copyOf(builder.conflictingParts));
+    }
+
+    private static class Builder {
+        private final Set<Item> conflictingParts = new HashSet<>();
+        private int thrust = 1;
+        private float consumedFuel = 0.0f;
+        private float fuelCapacity = BoatEngineHandler.MAX_BASE_FUEL;
+        private float armor = 0.0f;
+        private boolean allWaterProof = true;
+
+        private void addAll(Iterable<ItemStack> stacks) {
+            for (ItemStack stack : stacks) {
+                if (!(stack.getItem() instanceof BoatEngineComponent component)) {
+                    this.allWaterProof = false;
+                    continue;
+                }
+                if (component.addedThrust() > 0.0f) this.thrust += component.addedThrust();
+                if (component.addedConsumedFuel() > 0.0f) this.consumedFuel += component.addedConsumedFuel();
+                this.fuelCapacity += component.addedFuelCapacity();
+                this.armor += component.getAdditionalArmor();
+                if (!component.waterProofsEngine()) this.allWaterProof = false;
+                this.conflictingParts.addAll(component.getConflictingParts());
+            }
+        }
+    }
+}
@@ -12,4 +12,12 @@ public class NbtKeys {
     public static final String ROTATION = "EngineRotation";
     public static final String IS_SUBMERGED = "IsSubmerged";
     public static final String IS_LOCKED = "IsLocked";
+    public static final String ENGINE_DATA = "BoatEngine";
+    public static final String DATA_VERSION = "Version";
+    public static final String SLOTS = "Slots";
+    public static final String SLOT = "Slot";
+    public static final String ITEM = "Item";
+    public static final String FLAGS = "Flags";
+    public static final String PACKED_SLOTS = "PackedSlots";
+    public static final String PART_COUNT = "PartCount";
 }
@@ -2,6 +2,7 @@ package net.shirojr.boatism.util;
 
 import net.minecraft.util.Identifier;
 import net.shirojr.boatism.Boatism;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
 
@@ -13,6 +14,8 @@ public enum SoundInstanceIdentifier {
     ENGINE_OVERHEATING("engine_overheating"),
     NO_SOUND("cancel_sound_instances");
 
+    private static final SoundInstanceIdentifier[] VALUES = values();
+    private static final int BUILT_IN_MASK = (1 << VALUES.length) - 1;
     private final Identifier identifier;
 
     SoundInstanceIdentifier(String soundInstanceName) {
@@ -23,10 +26,39 @@ public enum SoundInstanceIdentifier {
         return this.identifier;
     }
 
+    /**
+     * @return bit of this entry in a sound state bitmask
+     */
+    public int getBit() {
+        return 1 << this.ordinal();
+    }
+
+    public boolean isSetIn(int soundStates) {
+        return (soundStates & this.getBit()) != 0;
+    }
+
+    public static SoundInstanceIdentifier[] getValues() {
+        return VALUES;
+    }
+
+    /**
+     * @return bitmask of all built-in entries. Other bits belong to SoundInstances of the {@link SoundInstanceRegistry}
+     */
+    public static int getBuiltInMask() {
+        return BUILT_IN_MASK;
+    }
+
+    /**
+     * @param rawId network id of the {@link SoundInstanceRegistry}
+     * @return built-in entry or null, if the id belongs to an addon SoundInstance
+     */
+    @Nullable
+    public static SoundInstanceIdentifier fromRawId(int rawId) {
+        if (rawId < 0 || rawId >= VALUES.length) return null;
+        return VALUES[rawId];
+    }
+
     public static Optional<SoundInstanceIdentifier> fromIdentifier(Identifier identifier) {
-        for (SoundInstanceIdentifier instance : SoundInstanceIdentifier.values()) {
-            if (instance.identifier.equals(identifier)) return Optional.of(instance);
-        }
-        return Optional.empty();
+        return Optional.ofNullable(fromRawId(SoundInstanceRegistry.getRawId(identifier)));
     }
 }
@@ -0,0 +1,67 @@
+package net.shirojr.boatism.util;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.util.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Network ids of all SoundInstances, which can be started for a boat engine.<br>
+ * The built-in {@link SoundInstanceIdentifier SoundInstanceIdentifiers} are registered first, so their network id
+ * always equals their ordinal. Addons can register their own SoundInstances during mod initialization.
+ * Joining clients receive the server's entries in network id order, so both sides agree on the ids.<br><br>
+ * Sound state packets carry the ids as a bitmask, which limits the registry to {@link #MAX_ENTRIES} entries.
+ */
+public class SoundInstanceRegistry {
+    public static final int MAX_ENTRIES = Integer.SIZE;
+    private static final List<Identifier> ENTRIES = new ArrayList<>();
+    private static final Object2IntMap<Identifier> RAW_IDS = new Object2IntOpenHashMap<>();
+
+    static {
+        RAW_IDS.defaultReturnValue(-1);
+        for (SoundInstanceIdentifier soundInstanceIdentifier : SoundInstanceIdentifier.getValues()) {
+            register(soundInstanceIdentifier.getIdentifier());
+        }
+    }
+
+    /**
+     * @return network id of the new entry
+     */
+    public static int register(Identifier identifier) {
+        if (RAW_IDS.containsKey(identifier)) {
+            throw new IllegalArgumentException("SoundInstance %s has already been registered".formatted(identifier));
+        }
+        if (ENTRIES.size() >= MAX_ENTRIES) {
+            throw new IllegalStateException("Can't register SoundInstance %s, the limit of %s entries has been reached"
+                    .formatted(identifier, MAX_ENTRIES));
+        }
+        int rawId = ENTRIES.size();
+        ENTRIES.add(identifier);
+        RAW_IDS.put(identifier, rawId);
+        return rawId;
+    }
+
+    /**
+     * @return network id of the entry or -1, if it hasn't been registered
+     */
+    public static int getRawId(Identifier identifier) {
+        return RAW_IDS.getInt(identifier);
+    }
+
+    @Nullable
+    public static Identifier get(int rawId) {
+        if (rawId < 0 || rawId >= ENTRIES.size()) return null;
+        return ENTRIES.get(rawId);
+    }
+
+    /**
+     * @return all entries in network id order
+     */
+    public static List<Identifier> getEntries() {
+        return Collections.unmodifiableList(ENTRIES);
+    }
+}
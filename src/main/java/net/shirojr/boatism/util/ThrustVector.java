@@ -0,0 +1,45 @@
+package net.shirojr.boatism.util;
+
+import net.minecraft.util.math.MathHelper;
+
+/**
+ * Mutable horizontal thrust of an engine. It is reused every tick, so pushing the hooked boat doesn't need
+ * any new {@link net.minecraft.util.math.Vec3d Vec3d} objects.
+ */
+public class ThrustVector {
+    private double x, z;
+
+    /**
+     * Points the vector into the horizontal facing direction of the given rotation.
+     *
+     * @param thrust length of the vector
+     */
+    public ThrustVector set(float yaw, float pitch, double thrust) {
+        float pitchRadians = pitch * MathHelper.RADIANS_PER_DEGREE;
+        float yawRadians = -yaw * MathHelper.RADIANS_PER_DEGREE;
+        float cosPitch = MathHelper.cos(pitchRadians);
+        double directionX = MathHelper.sin(yawRadians) * cosPitch;
+        double directionZ = MathHelper.cos(yawRadians) * cosPitch;
+        double length = Math.sqrt(directionX * directionX + directionZ * directionZ);
+        if (length < 1.0E-4) {
+            this.x = 0.0;
+            this.z = 0.0;
+            return this;
+        }
+        this.x = directionX / length * thrust;
+        this.z = directionZ / length * thrust;
+        return this;
+    }
+
+    public double getX() {
+        return this.x;
+    }
+
+    public double getZ() {
+        return this.z;
+    }
+
+    public double horizontalLengthSquared() {
+        return this.x * this.x + this.z * this.z;
+    }
+}
@@ -0,0 +1,77 @@
+package net.shirojr.boatism.util;
+
+/**
+ * Decides on the server, when a frequently changing value has to be written to the entity's DataTracker.<br><br>
+ * The client extrapolates the value from the last synced value and its rate of change per tick, so an update is only
+ * needed, if
+ * <ul>
+ *     <li>the real value moved away from the extrapolated value by at least one quantisation step</li>
+ *     <li>the rate of change has been changed</li>
+ *     <li>the real and the extrapolated value are on different sides of one of the thresholds</li>
+ *     <li>the value is changing and the maximum sync interval has passed</li>
+ * </ul>
+ */
+public class TrackedValueSync {
+    private final float step;
+    private final int maxSyncInterval;
+    private final float[] thresholds;
+    private float syncedValue, syncedRate, previousValue;
+    private int ticksSinceSync = 0;
+    private boolean forceSync = true;
+
+    /**
+     * @param step            quantisation step of the value
+     * @param maxSyncInterval maximum amount of ticks between two updates of a changing value
+     * @param thresholds      values, which the client always has to see crossed at the same time as the server
+     */
+    public TrackedValueSync(float step, int maxSyncInterval, float... thresholds) {
+        this.step = step;
+        this.maxSyncInterval = maxSyncInterval;
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Needs to be called once per server tick with the current value.
+     *
+     * @return true, if the value and its rate should be written to the DataTracker
+     */
+    public boolean tick(float value) {
+        float rate = value - this.previousValue;
+        this.previousValue = value;
+        this.ticksSinceSync++;
+        if (!this.forceSync && !this.needsSync(value, rate)) return false;
+
+        this.syncedValue = value;
+        // a forced sync follows a jump of the value, which shouldn't be extrapolated
+        this.syncedRate = this.forceSync ? 0.0f : rate;
+        this.ticksSinceSync = 0;
+        this.forceSync = false;
+        return true;
+    }
+
+    private boolean needsSync(float value, float rate) {
+        if (rate != this.syncedRate) return true;
+        float extrapolatedValue = extrapolate(this.syncedValue, this.syncedRate, this.ticksSinceSync);
+        if (Math.abs(value - extrapolatedValue) >= this.step) return true;
+        for (float threshold : this.thresholds) {
+            if ((value < threshold) != (extrapolatedValue < threshold)) return true;
+        }
+        return rate != 0.0f && this.ticksSinceSync >= this.maxSyncInterval;
+    }
+
+    /**
+     * Forces an update in the next tick, e.g. if the value has been set from outside the regular simulation.
+     * The rate of change will be synced again in the tick after that.
+     */
+    public void markDirty() {
+        this.forceSync = true;
+    }
+
+    public float getSyncedRate() {
+        return this.syncedRate;
+    }
+
+    public static float extrapolate(float syncedValue, float syncedRate, int ticksSinceSync) {
+        return syncedValue + syncedRate * ticksSinceSync;
+    }
+}
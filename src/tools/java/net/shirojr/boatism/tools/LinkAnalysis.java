@@ -0,0 +1,150 @@
+package net.shirojr.boatism.tools;
+
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Cross-region analysis of the links between boat engines ({@code HookedEntity}) and boats ({@code BoatEngineUuid}).
+ */
+public class LinkAnalysis {
+    private final List<ScannedEntity> entities;
+    private final Set<UUID> unhookedEngines = new HashSet<>();
+    private final Set<UUID> forgottenEngines = new HashSet<>();
+    private final Map<Path, RegionReport> reports = new TreeMap<>();
+
+    private LinkAnalysis(List<ScannedEntity> entities) {
+        this.entities = entities;
+    }
+
+    public static LinkAnalysis of(List<ScannedEntity> entities) {
+        LinkAnalysis analysis = new LinkAnalysis(entities);
+        analysis.analyze();
+        return analysis;
+    }
+
+    private void analyze() {
+        Set<UUID> entityUuids = new HashSet<>();
+        Map<UUID, ScannedEntity> engines = new HashMap<>();
+        Map<UUID, ScannedEntity> boats = new HashMap<>();
+        for (ScannedEntity entity : this.entities) {
+            if (entity.uuid == null) continue;
+            entityUuids.add(entity.uuid);
+            if (entity.isBoatEngine()) {
+                engines.put(entity.uuid, entity);
+                this.getReport(entity).engines++;
+            }
+            if (entity.boatEngineUuid != null) boats.put(entity.uuid, entity);
+        }
+
+        Map<UUID, List<ScannedEntity>> enginesByBoat = new HashMap<>();
+        for (ScannedEntity engine : engines.values()) {
+            if (engine.hookedEntity == null) continue;
+            if (!entityUuids.contains(engine.hookedEntity)) {
+                this.unhookedEngines.add(engine.uuid);
+                RegionReport report = this.getReport(engine);
+                report.orphanedEngines++;
+                report.orphanedParts += engine.equippedParts;
+                report.orphanedFuel += engine.fuel;
+                continue;
+            }
+            enginesByBoat.computeIfAbsent(engine.hookedEntity, uuid -> new ArrayList<>()).add(engine);
+        }
+        enginesByBoat.forEach((boatUuid, hookedEngines) -> {
+            if (hookedEngines.size() < 2) return;
+            ScannedEntity boat = boats.get(boatUuid);
+            ScannedEntity keptEngine = hookedEngines.stream()
+                    .filter(engine -> boat != null && engine.uuid.equals(boat.boatEngineUuid))
+                    .findFirst()
+                    .or(() -> hookedEngines.stream().filter(engine -> boatUuid.equals(engine.vehicle)).findFirst())
+                    .orElse(hookedEngines.get(0));
+            for (ScannedEntity engine : hookedEngines) {
+                if (engine == keptEngine) continue;
+                this.unhookedEngines.add(engine.uuid);
+                this.getReport(engine).duplicateLinks++;
+            }
+        });
+
+        for (ScannedEntity boat : boats.values()) {
+            ScannedEntity engine = engines.get(boat.boatEngineUuid);
+            if (engine == null) {
+                this.forgottenEngines.add(boat.uuid);
+                this.getReport(boat).missingEngines++;
+            } else if (!boat.uuid.equals(engine.hookedEntity)) {
+                // the engine is hooked to another boat, which is already counted on the engine's side
+                this.forgottenEngines.add(boat.uuid);
+                this.getReport(boat).boatsWithForeignEngines++;
+            }
+        }
+    }
+
+    public boolean shouldUnhook(UUID engineUuid) {
+        return this.unhookedEngines.contains(engineUuid);
+    }
+
+    public boolean shouldForgetEngine(UUID boatUuid) {
+        return this.forgottenEngines.contains(boatUuid);
+    }
+
+    /**
+     * @return UUIDs of the entities, which need to be fixed, grouped by region file and chunk index
+     */
+    public Map<Path, Map<Integer, Set<UUID>>> getFixesByRegion() {
+        Map<Path, Map<Integer, Set<UUID>>> fixes = new HashMap<>();
+        for (ScannedEntity entity : this.entities) {
+            if (entity.uuid == null) continue;
+            if (!this.unhookedEngines.contains(entity.uuid) && !this.forgottenEngines.contains(entity.uuid)) continue;
+            fixes.computeIfAbsent(entity.region, region -> new HashMap<>())
+                    .computeIfAbsent(entity.chunkIndex, chunkIndex -> new HashSet<>())
+                    .add(entity.uuid);
+        }
+        return fixes;
+    }
+
+    public void printReport(PrintStream output) {
+        RegionReport total = new RegionReport();
+        this.reports.forEach((region, report) -> {
+            output.printf("%s: %s%n", region, report);
+            total.add(report);
+        });
+        output.printf("Total: %s%n", total);
+    }
+
+    private RegionReport getReport(ScannedEntity entity) {
+        return this.reports.computeIfAbsent(entity.region, region -> new RegionReport());
+    }
+
+    /**
+     * @return report of the region or an empty report, if the region doesn't contain any linked entities
+     */
+    RegionReport getReport(Path region) {
+        return this.reports.getOrDefault(region, new RegionReport());
+    }
+
+    static class RegionReport {
+        int engines, orphanedEngines, missingEngines, duplicateLinks, boatsWithForeignEngines;
+        /**
+         * Equipped parts and fuel of the orphaned engines, which would be lost together with them
+         */
+        int orphanedParts;
+        double orphanedFuel;
+
+        private void add(RegionReport report) {
+            this.engines += report.engines;
+            this.orphanedEngines += report.orphanedEngines;
+            this.missingEngines += report.missingEngines;
+            this.duplicateLinks += report.duplicateLinks;
+            this.boatsWithForeignEngines += report.boatsWithForeignEngines;
+            this.orphanedParts += report.orphanedParts;
+            this.orphanedFuel += report.orphanedFuel;
+        }
+
+        @Override
+        public String toString() {
+            return ("%s engines | %s orphaned engines holding %s parts and %.0f fuel | %s boats with missing engines"
+                    + " | %s duplicate links | %s boats with foreign engines")
+                    .formatted(this.engines, this.orphanedEngines, this.orphanedParts, this.orphanedFuel,
+                            this.missingEngines, this.duplicateLinks, this.boatsWithForeignEngines);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package net.shirojr.boatism.tools;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Minimal NBT reader, which only decodes the Boatism keys of the entities in an entity chunk.<br>
+ * Every other tag is skipped by its size, without creating any objects for it.
+ */
+public class NbtSkimmer {
+    static final byte END = 0, BYTE = 1, SHORT = 2, INT = 3, LONG = 4, FLOAT = 5, DOUBLE = 6, BYTE_ARRAY = 7,
+            STRING = 8, LIST = 9, COMPOUND = 10, INT_ARRAY = 11, LONG_ARRAY = 12;
+
+    private final ByteBuffer buffer;
+    private final Path region;
+    private final int chunkIndex;
+
+    private NbtSkimmer(ByteBuffer buffer, Path region, int chunkIndex) {
+        this.buffer = buffer;
+        this.region = region;
+        this.chunkIndex = chunkIndex;
+    }
+
+    /**
+     * @param buffer uncompressed NBT of a single entity chunk
+     * @return all entities of the chunk including their passengers
+     */
+    public static List<ScannedEntity> skimEntities(ByteBuffer buffer, Path region, int chunkIndex) {
+        NbtSkimmer skimmer = new NbtSkimmer(buffer, region, chunkIndex);
+        List<ScannedEntity> entities = new ArrayList<>();
+        if (buffer.get() != COMPOUND) return entities;
+        skimmer.skipString();
+        byte type;
+        while ((type = buffer.get()) != END) {
+            String name = skimmer.readString();
+            if (type == LIST && name.equals("Entities")) skimmer.readEntityList(entities);
+            else skimmer.skip(type);
+        }
+        return entities;
+    }
+
+    private void readEntityList(List<ScannedEntity> entities) {
+        byte elementType = this.buffer.get();
+        int length = this.buffer.getInt();
+        if (elementType != COMPOUND) {
+            for (int i = 0; i < length; i++) this.skip(elementType);
+            return;
+        }
+        for (int i = 0; i < length; i++) this.readEntity(entities);
+    }
+
+    /**
+     * Adds the entity and all of its passengers to the list
+     */
+    private ScannedEntity readEntity(List<ScannedEntity> entities) {
+        ScannedEntity entity = new ScannedEntity(this.region, this.chunkIndex);
+        entities.add(entity);
+        List<ScannedEntity> passengers = new ArrayList<>();
+        byte type;
+        while ((type = this.buffer.get()) != END) {
+            String name = this.readString();
+            switch (name) {
+                case "id" -> {
+                    if (type == STRING) entity.id = this.readString();
+                    else this.skip(type);
+                }
+                case "UUID" -> entity.uuid = this.readUuid(type);
+                case "HookedEntity" -> entity.hookedEntity = this.readUuid(type);
+                case "BoatEngineUuid" -> entity.boatEngineUuid = this.readUuid(type);
+                case "Fuel" -> {
+                    if (type == FLOAT) entity.fuel = this.buffer.getFloat();
+                    else this.skip(type);
+                }
+                case "ArmorItems", "HeldItems" -> {
+                    if (type == LIST) entity.equippedParts += this.countNonEmptyCompounds();
+                    else this.skip(type);
+                }
+                case "BoatEngine" -> {
+                    if (type == COMPOUND) this.readEngineData(entity);
+                    else this.skip(type);
+                }
+                case "Passengers" -> {
+                    if (type != LIST) {
+                        this.skip(type);
+                        continue;
+                    }
+                    byte elementType = this.buffer.get();
+                    int length = this.buffer.getInt();
+                    for (int i = 0; i < length; i++) {
+                        if (elementType == COMPOUND) passengers.add(this.readEntity(entities));
+                        else this.skip(elementType);
+                    }
+                }
+                default -> this.skip(type);
+            }
+        }
+        for (ScannedEntity passenger : passengers) passenger.vehicle = entity.uuid;
+        return entity;
+    }
+
+    /**
+     * Reads the versioned engine compound, which replaced the separate keys on the entity
+     */
+    private void readEngineData(ScannedEntity entity) {
+        byte type;
+        while ((type = this.buffer.get()) != END) {
+            String name = this.readString();
+            switch (name) {
+                case "HookedEntity" -> entity.hookedEntity = this.readUuid(type);
+                case "Fuel" -> {
+                    if (type == FLOAT) entity.fuel = this.buffer.getFloat();
+                    else this.skip(type);
+                }
+                case "Slots" -> {
+                    if (type == LIST) entity.equippedParts += this.countNonEmptyCompounds();
+                    else this.skip(type);
+                }
+                default -> this.skip(type);
+            }
+        }
+    }
+
+    private int countNonEmptyCompounds() {
+        byte elementType = this.buffer.get();
+        int length = this.buffer.getInt();
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (elementType == COMPOUND && this.buffer.get(this.buffer.position()) != END) count++;
+            this.skip(elementType);
+        }
+        return count;
+    }
+
+    private UUID readUuid(byte type) {
+        if (type != INT_ARRAY) {
+            this.skip(type);
+            return null;
+        }
+        int length = this.buffer.getInt();
+        if (length != 4) {
+            this.buffer.position(this.buffer.position() + length * 4);
+            return null;
+        }
+        long most = (long) this.buffer.getInt() << 32 | this.buffer.getInt() & 0xFFFFFFFFL;
+        long least = (long) this.buffer.getInt() << 32 | this.buffer.getInt() & 0xFFFFFFFFL;
+        return new UUID(most, least);
+    }
+
+    /**
+     * NBT strings are stored in Java's modified UTF-8, just like {@link java.io.DataInput#readUTF()} reads them.
+     * Null characters take two bytes and supplementary characters are stored as two separately encoded surrogates.
+     */
+    private String readString() {
+        int length = Short.toUnsignedInt(this.buffer.getShort());
+        int end = this.buffer.position() + length;
+        char[] chars = new char[length];
+        int charCount = 0;
+        while (this.buffer.position() < end) {
+            int first = this.buffer.get() & 0xFF;
+            if (first < 0x80) {
+                chars[charCount++] = (char) first;
+            } else if ((first & 0xE0) == 0xC0) {
+                chars[charCount++] = (char) ((first & 0x1F) << 6 | this.readContinuation(end));
+            } else if ((first & 0xF0) == 0xE0) {
+                int second = this.readContinuation(end);
+                chars[charCount++] = (char) ((first & 0x0F) << 12 | second << 6 | this.readContinuation(end));
+            } else {
+                throw new IllegalStateException("Malformed modified UTF-8 string");
+            }
+        }
+        return new String(chars, 0, charCount);
+    }
+
+    private int readContinuation(int end) {
+        if (this.buffer.position() >= end) throw new IllegalStateException("Truncated modified UTF-8 string");
+        int continuation = this.buffer.get() & 0xFF;
+        if ((continuation & 0xC0) != 0x80) throw new IllegalStateException("Malformed modified UTF-8 string");
+        return continuation & 0x3F;
+    }
+
+    private void skipString() {
+        int length = Short.toUnsignedInt(this.buffer.getShort());
+        this.advance(length);
+    }
+
+    private void skip(byte type) {
+        switch (type) {
+            case BYTE -> this.advance(1);
+            case SHORT -> this.advance(2);
+            case INT, FLOAT -> this.advance(4);
+            case LONG, DOUBLE -> this.advance(8);
+            case BYTE_ARRAY -> this.advance(this.buffer.getInt());
+            case STRING -> this.skipString();
+            case INT_ARRAY -> this.advance(this.buffer.getInt() * 4);
+            case LONG_ARRAY -> this.advance(this.buffer.getInt() * 8);
+            case LIST -> {
+                byte elementType = this.buffer.get();
+                int length = this.buffer.getInt();
+                int fixedSize = fixedSize(elementType);
+                if (fixedSize >= 0) {
+                    this.advance(length * fixedSize);
+                    return;
+                }
+                for (int i = 0; i < length; i++) this.skip(elementType);
+            }
+            case COMPOUND -> {
+                byte elementType;
+                while ((elementType = this.buffer.get()) != END) {
+                    this.skipString();
+                    this.skip(elementType);
+                }
+            }
+            default -> throw new IllegalStateException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static int fixedSize(byte type) {
+        return switch (type) {
+            case END -> 0;
+            case BYTE -> 1;
+            case SHORT -> 2;
+            case INT, FLOAT -> 4;
+            case LONG, DOUBLE -> 8;
+            default -> -1;
+        };
+    }
+
+    private void advance(int bytes) {
+        this.buffer.position(this.buffer.position() + bytes);
+    }
+}
@@ -0,0 +1,134 @@
+package net.shirojr.boatism.tools;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.shirojr.boatism.tools.NbtSkimmer.*;
+
+/**
+ * Complete NBT tree, which is only built for chunks that are rewritten by the repair mode.<br>
+ * Compounds are stored as maps of {@link Tag Tags}, lists as {@link ListTag ListTags} and every other value as its
+ * boxed Java type.
+ */
+public class NbtTree {
+    private NbtTree() {
+    }
+
+    public record Tag(byte type, Object value) {
+        @SuppressWarnings("unchecked")
+        public Map<String, Tag> compound() {
+            return (Map<String, Tag>) this.value;
+        }
+
+        public ListTag list() {
+            return (ListTag) this.value;
+        }
+    }
+
+    public record ListTag(byte elementType, List<Tag> elements) {
+    }
+
+    public static Tag readRoot(DataInput input) throws IOException {
+        byte type = input.readByte();
+        if (type != COMPOUND) throw new IOException("Chunk root is not a compound");
+        input.readUTF();
+        return read(input, type);
+    }
+
+    public static void writeRoot(DataOutput output, Tag root) throws IOException {
+        output.writeByte(root.type());
+        output.writeUTF("");
+        write(output, root);
+    }
+
+    private static Tag read(DataInput input, byte type) throws IOException {
+        return new Tag(type, switch (type) {
+            case BYTE -> input.readByte();
+            case SHORT -> input.readShort();
+            case INT -> input.readInt();
+            case LONG -> input.readLong();
+            case FLOAT -> input.readFloat();
+            case DOUBLE -> input.readDouble();
+            case BYTE_ARRAY -> {
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+                yield bytes;
+            }
+            case STRING -> input.readUTF();
+            case LIST -> {
+                byte elementType = input.readByte();
+                int length = input.readInt();
+                List<Tag> elements = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) elements.add(read(input, elementType));
+                yield new ListTag(elementType, elements);
+            }
+            case COMPOUND -> {
+                Map<String, Tag> entries = new LinkedHashMap<>();
+                byte entryType;
+                while ((entryType = input.readByte()) != END) {
+                    String name = input.readUTF();
+                    entries.put(name, read(input, entryType));
+                }
+                yield entries;
+            }
+            case INT_ARRAY -> {
+                int[] ints = new int[input.readInt()];
+                for (int i = 0; i < ints.length; i++) ints[i] = input.readInt();
+                yield ints;
+            }
+            case LONG_ARRAY -> {
+                long[] longs = new long[input.readInt()];
+                for (int i = 0; i < longs.length; i++) longs[i] = input.readLong();
+                yield longs;
+            }
+            default -> throw new IOException("Unknown NBT tag type " + type);
+        });
+    }
+
+    private static void write(DataOutput output, Tag tag) throws IOException {
+        switch (tag.type()) {
+            case BYTE -> output.writeByte((Byte) tag.value());
+            case SHORT -> output.writeShort((Short) tag.value());
+            case INT -> output.writeInt((Integer) tag.value());
+            case LONG -> output.writeLong((Long) tag.value());
+            case FLOAT -> output.writeFloat((Float) tag.value());
+            case DOUBLE -> output.writeDouble((Double) tag.value());
+            case BYTE_ARRAY -> {
+                byte[] bytes = (byte[]) tag.value();
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            }
+            case STRING -> output.writeUTF((String) tag.value());
+            case LIST -> {
+                ListTag list = tag.list();
+                output.writeByte(list.elementType());
+                output.writeInt(list.elements().size());
+                for (Tag element : list.elements()) write(output, element);
+            }
+            case COMPOUND -> {
+                for (Map.Entry<String, Tag> entry : tag.compound().entrySet()) {
+                    output.writeByte(entry.getValue().type());
+                    output.writeUTF(entry.getKey());
+                    write(output, entry.getValue());
+                }
+                output.writeByte(END);
+            }
+            case INT_ARRAY -> {
+                int[] ints = (int[]) tag.value();
+                output.writeInt(ints.length);
+                for (int value : ints) output.writeInt(value);
+            }
+            case LONG_ARRAY -> {
+                long[] longs = (long[]) tag.value();
+                output.writeInt(longs.length);
+                for (long value : longs) output.writeLong(value);
+            }
+            default -> throw new IOException("Unknown NBT tag type " + tag.type());
+        }
+    }
+}
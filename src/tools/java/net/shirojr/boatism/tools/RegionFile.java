@@ -0,0 +1,137 @@
+package net.shirojr.boatism.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and writes single chunks of an Anvil region file.<br>
+ * The file is memory mapped for reading, so the chunks are decompressed straight from the page cache.
+ */
+public class RegionFile implements AutoCloseable {
+    public static final int CHUNKS = 32 * 32;
+    private static final int SECTOR_SIZE = 4096, HEADER_SIZE = SECTOR_SIZE * 2;
+    private static final byte GZIP = 1, ZLIB = 2, UNCOMPRESSED = 3;
+    private static final int EXTERNAL_FLAG = 0x80;
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer mappedFile;
+
+    private RegionFile(Path path, FileChannel channel) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.mappedFile = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    public static RegionFile open(Path path) throws IOException {
+        return new RegionFile(path, FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public static RegionFile openWritable(Path path) throws IOException {
+        return new RegionFile(path, FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE));
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * @return uncompressed chunk NBT, or null if the chunk doesn't exist or is stored in an external file
+     */
+    public ByteBuffer readChunk(int chunkIndex) throws IOException {
+        if (this.mappedFile.capacity() < HEADER_SIZE) return null;
+        int location = this.mappedFile.getInt(chunkIndex * 4);
+        int sectorOffset = location >>> 8;
+        if (sectorOffset < 2) return null;
+        int start = sectorOffset * SECTOR_SIZE;
+        if (start + 5 > this.mappedFile.capacity()) return null;
+        int length = this.mappedFile.getInt(start);
+        byte compression = this.mappedFile.get(start + 4);
+        if ((compression & EXTERNAL_FLAG) != 0 || length <= 1 || start + 4 + length > this.mappedFile.capacity()) {
+            return null;
+        }
+        ByteBuffer compressed = this.mappedFile.slice(start + 5, length - 1);
+        try (InputStream input = decompress(new ByteBufferInputStream(compressed), compression)) {
+            return input == null ? null : ByteBuffer.wrap(input.readAllBytes());
+        }
+    }
+
+    /**
+     * Writes the chunk back into its sectors, or appends it to the end of the file, if it doesn't fit anymore.
+     * The file is mapped again after it has grown, so appended chunks can be read right away.
+     */
+    public void writeChunk(int chunkIndex, byte[] uncompressedNbt) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream output = new DeflaterOutputStream(compressed)) {
+            output.write(uncompressedNbt);
+        }
+        int length = compressed.size() + 1;
+        int sectorCount = (length + 4 + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        if (sectorCount > 0xFF) throw new IOException("Chunk %s of %s is too large".formatted(chunkIndex, this.path));
+
+        ByteBuffer header = ByteBuffer.allocate(4);
+        this.channel.read(header, chunkIndex * 4L);
+        int location = header.getInt(0);
+        int sectorOffset = location >>> 8;
+        if (sectorCount > (location & 0xFF) || sectorOffset < 2) {
+            sectorOffset = (int) ((this.channel.size() + SECTOR_SIZE - 1) / SECTOR_SIZE);
+        }
+        ByteBuffer data = ByteBuffer.allocate(sectorCount * SECTOR_SIZE);
+        data.putInt(length).put(ZLIB).put(compressed.toByteArray()).rewind();
+        this.channel.write(data, (long) sectorOffset * SECTOR_SIZE);
+
+        header.clear();
+        header.putInt(sectorOffset << 8 | sectorCount).flip();
+        this.channel.write(header, chunkIndex * 4L);
+        header.clear();
+        header.putInt((int) (System.currentTimeMillis() / 1000L)).flip();
+        this.channel.write(header, SECTOR_SIZE + chunkIndex * 4L);
+        if (this.channel.size() > this.mappedFile.capacity()) {
+            this.mappedFile = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.channel.size());
+        }
+    }
+
+    private static InputStream decompress(InputStream input, byte compression) throws IOException {
+        return switch (compression) {
+            case GZIP -> new GZIPInputStream(input);
+            case ZLIB -> new InflaterInputStream(input);
+            case UNCOMPRESSED -> input;
+            default -> null;
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!this.buffer.hasRemaining()) return -1;
+            int read = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, read);
+            return read;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package net.shirojr.boatism.tools;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Offline audit of the links between boat engines and their boats in the entity region files of a world.<br>
+ * All region files are scanned in parallel and only the Boatism keys of the entities are decoded. The report lists
+ * engines, orphaned engines with the parts and fuel they hold, boats which point at missing engines, duplicate links
+ * and boats which point at an engine hooked to another boat per region.<br>
+ * With {@code --repair} the affected chunks are rewritten: orphaned and duplicate engines are unhooked and boats
+ * forget their missing engines. Every modified region file is backed up first. The server must not be running.
+ * <br><br>
+ * Run with {@code ./gradlew scanRegions --args="<world directory> [--repair]"}
+ */
+public class RegionScanner {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RegionScanner <world directory> [--repair]");
+            System.exit(1);
+        }
+        Path world = Path.of(args[0]);
+        boolean repair = Arrays.asList(args).contains("--repair");
+        List<Path> regions = findEntityRegions(world);
+        System.out.printf("Scanning %s entity region files in %s%n", regions.size(), world.toAbsolutePath());
+
+        long start = System.nanoTime();
+        List<ScannedEntity> entities = regions.parallelStream()
+                .flatMap(RegionScanner::scanRegion)
+                .toList();
+        LinkAnalysis analysis = LinkAnalysis.of(entities);
+        analysis.printReport(System.out);
+        System.out.printf("Scanned %s entities in %s ms%n", entities.size(), (System.nanoTime() - start) / 1_000_000);
+
+        if (!repair) return;
+        Map<Path, Map<Integer, Set<UUID>>> fixes = analysis.getFixesByRegion();
+        int repairedChunks = fixes.entrySet().parallelStream()
+                .mapToInt(entry -> repairRegion(entry.getKey(), entry.getValue(), analysis))
+                .sum();
+        System.out.printf("Repaired %s chunks in %s region files%n", repairedChunks, fixes.size());
+    }
+
+    private static List<Path> findEntityRegions(Path world) throws IOException {
+        try (Stream<Path> files = Files.walk(world, 5)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".mca"))
+                    .filter(path -> path.getParent() != null && path.getParent().getFileName().toString().equals("entities"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    static Stream<ScannedEntity> scanRegion(Path region) {
+        List<ScannedEntity> entities = new ArrayList<>();
+        try (RegionFile regionFile = RegionFile.open(region)) {
+            for (int chunkIndex = 0; chunkIndex < RegionFile.CHUNKS; chunkIndex++) {
+                ByteBuffer chunk = regionFile.readChunk(chunkIndex);
+                if (chunk == null) continue;
+                try {
+                    entities.addAll(NbtSkimmer.skimEntities(chunk, region, chunkIndex));
+                } catch (RuntimeException e) {
+                    System.err.printf("Skipped unreadable chunk %s of %s: %s%n", chunkIndex, region, e);
+                }
+            }
+        } catch (IOException e) {
+            System.err.printf("Couldn't read %s: %s%n", region, e);
+        }
+        return entities.stream();
+    }
+
+    /**
+     * @param fixes UUIDs of the entities per chunk, which need to be fixed
+     * @return amount of rewritten chunks
+     */
+    static int repairRegion(Path region, Map<Integer, Set<UUID>> fixes, LinkAnalysis analysis) {
+        try {
+            Files.copy(region, region.resolveSibling(region.getFileName() + ".bak"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            System.err.printf("Couldn't back up %s, it won't be repaired: %s%n", region, e);
+            return 0;
+        }
+        int repairedChunks = 0;
+        try (RegionFile regionFile = RegionFile.openWritable(region)) {
+            for (Map.Entry<Integer, Set<UUID>> entry : fixes.entrySet()) {
+                ByteBuffer chunk = regionFile.readChunk(entry.getKey());
+                if (chunk == null) continue;
+                NbtTree.Tag root = NbtTree.readRoot(new DataInputStream(new ByteArrayInputStream(
+                        chunk.array(), chunk.arrayOffset(), chunk.limit())));
+                NbtTree.Tag entities = root.compound().get("Entities");
+                if (entities == null || entities.type() != NbtSkimmer.LIST) continue;
+                if (!repairEntities(entities.list(), entry.getValue(), analysis)) continue;
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                NbtTree.writeRoot(new DataOutputStream(bytes), root);
+                regionFile.writeChunk(entry.getKey(), bytes.toByteArray());
+                repairedChunks++;
+            }
+        } catch (IOException e) {
+            System.err.printf("Couldn't repair %s, restore it from the backup: %s%n", region, e);
+        }
+        return repairedChunks;
+    }
+
+    private static boolean repairEntities(NbtTree.ListTag entities, Set<UUID> targets, LinkAnalysis analysis) {
+        boolean modified = false;
+        for (NbtTree.Tag entity : entities.elements()) {
+            if (entity.type() != NbtSkimmer.COMPOUND) continue;
+            Map<String, NbtTree.Tag> entries = entity.compound();
+            UUID uuid = readUuid(entries.get("UUID"));
+            if (uuid != null && targets.contains(uuid)) {
+                if (analysis.shouldUnhook(uuid)) {
+                    modified |= entries.remove("HookedEntity") != null;
+                    NbtTree.Tag engineData = entries.get("BoatEngine");
+                    if (engineData != null && engineData.type() == NbtSkimmer.COMPOUND) {
+                        modified |= engineData.compound().remove("HookedEntity") != null;
+                    }
+                }
+                if (analysis.shouldForgetEngine(uuid)) {
+                    modified |= entries.remove("BoatEngineUuid") != null;
+                }
+            }
+            NbtTree.Tag passengers = entries.get("Passengers");
+            if (passengers != null && passengers.type() == NbtSkimmer.LIST) {
+                modified |= repairEntities(passengers.list(), targets, analysis);
+            }
+        }
+        return modified;
+    }
+
+    private static UUID readUuid(NbtTree.Tag tag) {
+        if (tag == null || tag.type() != NbtSkimmer.INT_ARRAY) return null;
+        int[] ints = (int[]) tag.value();
+        if (ints.length != 4) return null;
+        return new UUID((long) ints[0] << 32 | ints[1] & 0xFFFFFFFFL, (long) ints[2] << 32 | ints[3] & 0xFFFFFFFFL);
+    }
+}
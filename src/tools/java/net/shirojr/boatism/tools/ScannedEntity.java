@@ -0,0 +1,35 @@
+package net.shirojr.boatism.tools;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Boatism relevant values of a single entity, which has been skimmed from an entity region file.
+ */
+public class ScannedEntity {
+    public static final String BOAT_ENGINE_ID = "boatism:boat_engine";
+
+    final Path region;
+    final int chunkIndex;
+    String id = "";
+    UUID uuid;
+    UUID vehicle;
+    UUID hookedEntity;
+    UUID boatEngineUuid;
+    float fuel;
+    int equippedParts;
+
+    ScannedEntity(Path region, int chunkIndex) {
+        this.region = region;
+        this.chunkIndex = chunkIndex;
+    }
+
+    public boolean isBoatEngine() {
+        return BOAT_ENGINE_ID.equals(this.id);
+    }
+
+    @Override
+    public String toString() {
+        return "%s[%s] in %s chunk %s".formatted(this.id, this.uuid, this.region.getFileName(), this.chunkIndex);
+    }
+}
@@ -0,0 +1,103 @@
+package net.shirojr.boatism.tools;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static net.shirojr.boatism.tools.TestRegions.uuid;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkAnalysisTest {
+    private static final Path REGION = Path.of("r.0.0.mca");
+    private static final UUID BOAT = uuid(1, 0, 0, 1), OTHER_BOAT = uuid(1, 0, 0, 2);
+    private static final UUID ENGINE = uuid(2, 0, 0, 1), OTHER_ENGINE = uuid(2, 0, 0, 2);
+    private static final UUID MISSING = uuid(3, 0, 0, 1);
+
+    @Test
+    void orphanedEngineIsUnhookedAndReportsItsPartsAndFuel() {
+        ScannedEntity orphan = engine(ENGINE, MISSING);
+        orphan.equippedParts = 2;
+        orphan.fuel = 300.0f;
+        LinkAnalysis analysis = LinkAnalysis.of(List.of(orphan));
+
+        assertTrue(analysis.shouldUnhook(ENGINE));
+        LinkAnalysis.RegionReport report = analysis.getReport(REGION);
+        assertEquals(1, report.engines);
+        assertEquals(1, report.orphanedEngines);
+        assertEquals(2, report.orphanedParts);
+        assertEquals(300.0, report.orphanedFuel);
+        assertEquals(0, report.duplicateLinks);
+        assertEquals(Map.of(REGION, Map.of(0, Set.of(ENGINE))), analysis.getFixesByRegion());
+    }
+
+    @Test
+    void duplicateLinkKeepsTheEngineOfTheBoat() {
+        // the first engine would be kept, if the boat's BoatEngineUuid was ignored
+        LinkAnalysis analysis = LinkAnalysis.of(List.of(
+                engine(OTHER_ENGINE, BOAT), engine(ENGINE, BOAT), boat(BOAT, ENGINE)));
+
+        assertTrue(analysis.shouldUnhook(OTHER_ENGINE));
+        assertFalse(analysis.shouldUnhook(ENGINE));
+        assertFalse(analysis.shouldForgetEngine(BOAT));
+        LinkAnalysis.RegionReport report = analysis.getReport(REGION);
+        assertEquals(2, report.engines);
+        assertEquals(1, report.duplicateLinks);
+        assertEquals(0, report.orphanedEngines);
+        assertEquals(0, report.boatsWithForeignEngines);
+    }
+
+    @Test
+    void boatPointingAtForeignEngineForgetsIt() {
+        LinkAnalysis analysis = LinkAnalysis.of(List.of(
+                engine(ENGINE, BOAT), boat(BOAT, ENGINE), boat(OTHER_BOAT, ENGINE)));
+
+        assertTrue(analysis.shouldForgetEngine(OTHER_BOAT));
+        assertFalse(analysis.shouldForgetEngine(BOAT));
+        assertFalse(analysis.shouldUnhook(ENGINE));
+        LinkAnalysis.RegionReport report = analysis.getReport(REGION);
+        assertEquals(1, report.boatsWithForeignEngines);
+        assertEquals(0, report.duplicateLinks);
+        assertEquals(0, report.missingEngines);
+        assertEquals(Map.of(REGION, Map.of(0, Set.of(OTHER_BOAT))), analysis.getFixesByRegion());
+    }
+
+    @Test
+    void boatPointingAtMissingEngineForgetsIt() {
+        LinkAnalysis analysis = LinkAnalysis.of(List.of(boat(BOAT, MISSING)));
+
+        assertTrue(analysis.shouldForgetEngine(BOAT));
+        LinkAnalysis.RegionReport report = analysis.getReport(REGION);
+        assertEquals(0, report.engines);
+        assertEquals(1, report.missingEngines);
+        assertEquals(0, report.boatsWithForeignEngines);
+    }
+
+    @Test
+    void linkedEngineAndBoatAreLeftAlone() {
+        LinkAnalysis analysis = LinkAnalysis.of(List.of(engine(ENGINE, BOAT), boat(BOAT, ENGINE)));
+
+        assertFalse(analysis.shouldUnhook(ENGINE));
+        assertFalse(analysis.shouldForgetEngine(BOAT));
+        assertTrue(analysis.getFixesByRegion().isEmpty());
+    }
+
+    private static ScannedEntity engine(UUID uuid, UUID hookedEntity) {
+        ScannedEntity engine = new ScannedEntity(REGION, 0);
+        engine.id = ScannedEntity.BOAT_ENGINE_ID;
+        engine.uuid = uuid;
+        engine.hookedEntity = hookedEntity;
+        return engine;
+    }
+
+    private static ScannedEntity boat(UUID uuid, UUID boatEngineUuid) {
+        ScannedEntity boat = new ScannedEntity(REGION, 0);
+        boat.id = "minecraft:boat";
+        boat.uuid = uuid;
+        boat.boatEngineUuid = boatEngineUuid;
+        return boat;
+    }
+}
@@ -0,0 +1,74 @@
+package net.shirojr.boatism.tools;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.shirojr.boatism.tools.NbtSkimmer.*;
+import static net.shirojr.boatism.tools.TestRegions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NbtSkimmerTest {
+    private static final Path REGION = Path.of("r.0.0.mca");
+
+    @Test
+    void skimsEngineRidingItsBoat() throws IOException {
+        Map<String, NbtTree.Tag> engineData = new LinkedHashMap<>();
+        engineData.put("HookedEntity", uuidTag(uuid(1, 2, 3, 4)));
+        engineData.put("Fuel", new NbtTree.Tag(FLOAT, 250.0f));
+        engineData.put("Slots", new NbtTree.Tag(LIST, new NbtTree.ListTag(COMPOUND, List.of(
+                new NbtTree.Tag(COMPOUND, new LinkedHashMap<>(Map.of("id", new NbtTree.Tag(STRING, "boatism:component_exhaust")))),
+                new NbtTree.Tag(COMPOUND, new LinkedHashMap<>())))));
+        Map<String, NbtTree.Tag> engine = new LinkedHashMap<>();
+        engine.put("id", new NbtTree.Tag(STRING, ScannedEntity.BOAT_ENGINE_ID));
+        engine.put("UUID", uuidTag(uuid(5, 6, 7, 8)));
+        engine.put("BoatEngine", new NbtTree.Tag(COMPOUND, engineData));
+
+        Map<String, NbtTree.Tag> boat = new LinkedHashMap<>();
+        boat.put("id", new NbtTree.Tag(STRING, "minecraft:boat"));
+        boat.put("UUID", uuidTag(uuid(1, 2, 3, 4)));
+        boat.put("BoatEngineUuid", uuidTag(uuid(5, 6, 7, 8)));
+        boat.put("Passengers", new NbtTree.Tag(LIST, new NbtTree.ListTag(COMPOUND, List.of(
+                new NbtTree.Tag(COMPOUND, engine)))));
+
+        List<ScannedEntity> entities = skim(boat);
+        assertEquals(2, entities.size());
+        ScannedEntity skimmedBoat = entities.get(0);
+        ScannedEntity skimmedEngine = entities.get(1);
+        assertEquals(uuid(1, 2, 3, 4), skimmedBoat.uuid);
+        assertEquals(uuid(5, 6, 7, 8), skimmedBoat.boatEngineUuid);
+        assertTrue(skimmedEngine.isBoatEngine());
+        assertEquals(uuid(1, 2, 3, 4), skimmedEngine.hookedEntity);
+        assertEquals(uuid(1, 2, 3, 4), skimmedEngine.vehicle);
+        assertEquals(250.0f, skimmedEngine.fuel);
+        assertEquals(1, skimmedEngine.equippedParts);
+    }
+
+    @Test
+    void decodesStringsAsModifiedUtf8() throws IOException {
+        // null characters and supplementary characters are the ones, which differ from standard UTF-8
+        String id = "boatism:\u0000engine\uD83D\uDEA4\u00E4";
+        Map<String, NbtTree.Tag> entity = new LinkedHashMap<>();
+        entity.put("id", new NbtTree.Tag(STRING, id));
+        entity.put("UUID", uuidTag(uuid(5, 6, 7, 8)));
+
+        List<ScannedEntity> entities = skim(entity);
+        assertEquals(1, entities.size());
+        assertEquals(id, entities.get(0).id);
+        assertEquals(uuid(5, 6, 7, 8), entities.get(0).uuid);
+    }
+
+    private static List<ScannedEntity> skim(Map<String, NbtTree.Tag> entity) throws IOException {
+        Map<String, NbtTree.Tag> root = new LinkedHashMap<>();
+        root.put("DataVersion", new NbtTree.Tag(INT, 3700));
+        root.put("Entities", new NbtTree.Tag(LIST, new NbtTree.ListTag(COMPOUND, List.of(
+                new NbtTree.Tag(COMPOUND, entity)))));
+        byte[] bytes = writeNbt(new NbtTree.Tag(COMPOUND, root));
+        return NbtSkimmer.skimEntities(ByteBuffer.wrap(bytes), REGION, 0);
+    }
+}
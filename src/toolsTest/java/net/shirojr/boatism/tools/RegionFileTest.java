@@ -0,0 +1,120 @@
+package net.shirojr.boatism.tools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static net.shirojr.boatism.tools.NbtSkimmer.*;
+import static net.shirojr.boatism.tools.TestRegions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionFileTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rewrittenChunkIsByteIdentical() throws IOException {
+        byte[] chunk = writeNbt(entityChunk(0));
+        Path region = writeRegion(this.tempDir.resolve("r.0.0.mca"), chunk);
+
+        byte[] rewritten;
+        try (RegionFile regionFile = RegionFile.open(region)) {
+            byte[] read = toArray(regionFile.readChunk(0));
+            assertArrayEquals(chunk, read);
+            rewritten = writeNbt(NbtTree.readRoot(new DataInputStream(new ByteArrayInputStream(read))));
+        }
+        assertArrayEquals(chunk, rewritten);
+
+        int location = readLocation(region, 0);
+        try (RegionFile regionFile = RegionFile.openWritable(region)) {
+            regionFile.writeChunk(0, rewritten);
+        }
+        assertEquals(location, readLocation(region, 0), "a chunk of the same size has to stay in its sectors");
+        try (RegionFile regionFile = RegionFile.open(region)) {
+            assertArrayEquals(chunk, toArray(regionFile.readChunk(0)));
+        }
+    }
+
+    @Test
+    void grownChunkIsMovedToTheEndOfTheFile() throws IOException {
+        byte[] firstChunk = writeNbt(entityChunk(0));
+        byte[] secondChunk = writeNbt(entityChunk(100));
+        Path region = writeRegion(this.tempDir.resolve("r.0.0.mca"), firstChunk, secondChunk);
+        long sectorsBefore = Files.size(region) / SECTOR_SIZE;
+
+        // random bytes don't compress, so the chunk can't fit into its single sector anymore
+        byte[] grownChunk = writeNbt(entityChunk(3 * SECTOR_SIZE));
+        try (RegionFile regionFile = RegionFile.openWritable(region)) {
+            regionFile.writeChunk(0, grownChunk);
+            assertArrayEquals(grownChunk, toArray(regionFile.readChunk(0)));
+            assertArrayEquals(secondChunk, toArray(regionFile.readChunk(1)));
+        }
+
+        int location = readLocation(region, 0);
+        assertEquals(sectorsBefore, location >>> 8);
+        assertTrue((location & 0xFF) > 1);
+        assertEquals(0, Files.size(region) % SECTOR_SIZE);
+        try (RegionFile regionFile = RegionFile.open(region)) {
+            assertArrayEquals(grownChunk, toArray(regionFile.readChunk(0)));
+            assertArrayEquals(secondChunk, toArray(regionFile.readChunk(1)));
+            assertNull(regionFile.readChunk(2));
+        }
+    }
+
+    /**
+     * Entity chunk with a hooked boat engine, which uses every tag type
+     */
+    private static NbtTree.Tag entityChunk(int paddingBytes) {
+        byte[] padding = new byte[paddingBytes];
+        new Random(42).nextBytes(padding);
+
+        Map<String, NbtTree.Tag> slot = new LinkedHashMap<>();
+        slot.put("id", new NbtTree.Tag(STRING, "boatism:component_exhaust"));
+        slot.put("Count", new NbtTree.Tag(BYTE, (byte) 1));
+        Map<String, NbtTree.Tag> engineData = new LinkedHashMap<>();
+        engineData.put("Version", new NbtTree.Tag(SHORT, (short) 1));
+        engineData.put("HookedEntity", new NbtTree.Tag(INT_ARRAY, new int[]{1, 2, 3, 4}));
+        engineData.put("Fuel", new NbtTree.Tag(FLOAT, 250.0f));
+        engineData.put("Slots", new NbtTree.Tag(LIST, new NbtTree.ListTag(COMPOUND, List.of(
+                new NbtTree.Tag(COMPOUND, slot), new NbtTree.Tag(COMPOUND, new LinkedHashMap<>())))));
+
+        Map<String, NbtTree.Tag> engine = new LinkedHashMap<>();
+        engine.put("id", new NbtTree.Tag(STRING, ScannedEntity.BOAT_ENGINE_ID));
+        engine.put("UUID", new NbtTree.Tag(INT_ARRAY, new int[]{5, 6, 7, 8}));
+        // null characters and supplementary characters are written differently in modified UTF-8
+        engine.put("CustomName", new NbtTree.Tag(STRING, "engine\u0000\uD83D\uDEA4"));
+        engine.put("Pos", new NbtTree.Tag(LIST, new NbtTree.ListTag(DOUBLE, List.of(
+                new NbtTree.Tag(DOUBLE, 1.5), new NbtTree.Tag(DOUBLE, 64.0), new NbtTree.Tag(DOUBLE, -3.25)))));
+        engine.put("Tags", new NbtTree.Tag(LIST, new NbtTree.ListTag(END, List.of())));
+        engine.put("BoatEngine", new NbtTree.Tag(COMPOUND, engineData));
+        engine.put("Padding", new NbtTree.Tag(BYTE_ARRAY, padding));
+
+        Map<String, NbtTree.Tag> root = new LinkedHashMap<>();
+        root.put("DataVersion", new NbtTree.Tag(INT, 3700));
+        root.put("Position", new NbtTree.Tag(INT_ARRAY, new int[]{0, 0}));
+        root.put("LastUpdate", new NbtTree.Tag(LONG, 123456789L));
+        root.put("Sections", new NbtTree.Tag(LONG_ARRAY, new long[]{Long.MIN_VALUE, 0L, Long.MAX_VALUE}));
+        root.put("Entities", new NbtTree.Tag(LIST, new NbtTree.ListTag(COMPOUND, List.of(
+                new NbtTree.Tag(COMPOUND, engine)))));
+        return new NbtTree.Tag(COMPOUND, root);
+    }
+
+    private static int readLocation(Path region, int chunkIndex) throws IOException {
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(region))) {
+            input.skipNBytes(chunkIndex * 4L);
+            return input.readInt();
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        assertNotNull(buffer);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
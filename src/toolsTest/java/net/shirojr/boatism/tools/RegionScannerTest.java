@@ -0,0 +1,145 @@
+package net.shirojr.boatism.tools;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static net.shirojr.boatism.tools.NbtSkimmer.*;
+import static net.shirojr.boatism.tools.TestRegions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegionScannerTest {
+    private static final UUID BOAT = uuid(1, 0, 0, 1), FOREIGN_BOAT = uuid(1, 0, 0, 2), FORGETFUL_BOAT = uuid(1, 0, 0, 3);
+    private static final UUID ENGINE = uuid(2, 0, 0, 1), DUPLICATE_ENGINE = uuid(2, 0, 0, 2), ORPHANED_ENGINE = uuid(2, 0, 0, 3);
+    private static final UUID MISSING = uuid(3, 0, 0, 1);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void repairedRegionScansClean() throws IOException {
+        Path region = writeRegion(this.tempDir.resolve("r.0.0.mca"), writeNbt(brokenChunk()));
+
+        LinkAnalysis analysis = LinkAnalysis.of(RegionScanner.scanRegion(region).toList());
+        LinkAnalysis.RegionReport report = analysis.getReport(region);
+        assertEquals(1, report.orphanedEngines);
+        assertEquals(1, report.duplicateLinks);
+        assertEquals(1, report.boatsWithForeignEngines);
+        assertEquals(1, report.missingEngines);
+
+        Map<Integer, Set<UUID>> fixes = analysis.getFixesByRegion().get(region);
+        assertEquals(1, RegionScanner.repairRegion(region, fixes, analysis));
+        assertTrue(Files.exists(region.resolveSibling("r.0.0.mca.bak")));
+
+        LinkAnalysis rescan = LinkAnalysis.of(RegionScanner.scanRegion(region).toList());
+        LinkAnalysis.RegionReport rescanReport = rescan.getReport(region);
+        assertEquals(3, rescanReport.engines);
+        assertEquals(0, rescanReport.orphanedEngines);
+        assertEquals(0, rescanReport.duplicateLinks);
+        assertEquals(0, rescanReport.boatsWithForeignEngines);
+        assertEquals(0, rescanReport.missingEngines);
+        assertTrue(rescan.getFixesByRegion().isEmpty());
+    }
+
+    @Test
+    void repairOnlyRemovesTheBrokenLinks() throws IOException {
+        Path region = writeRegion(this.tempDir.resolve("r.0.0.mca"), writeNbt(brokenChunk()));
+        LinkAnalysis analysis = LinkAnalysis.of(RegionScanner.scanRegion(region).toList());
+        RegionScanner.repairRegion(region, analysis.getFixesByRegion().get(region), analysis);
+
+        Map<UUID, Map<String, NbtTree.Tag>> entities = new HashMap<>();
+        try (RegionFile regionFile = RegionFile.open(region)) {
+            ByteBuffer chunk = regionFile.readChunk(0);
+            assertNotNull(chunk);
+            byte[] bytes = new byte[chunk.remaining()];
+            chunk.duplicate().get(bytes);
+            NbtTree.Tag root = NbtTree.readRoot(new DataInputStream(new ByteArrayInputStream(bytes)));
+            collectEntities(root.compound().get("Entities").list(), entities);
+        }
+
+        // unhooked engines lose both of their HookedEntity tags
+        Map<String, NbtTree.Tag> orphanedEngine = entities.get(ORPHANED_ENGINE);
+        assertFalse(orphanedEngine.containsKey("HookedEntity"));
+        assertFalse(orphanedEngine.get("BoatEngine").compound().containsKey("HookedEntity"));
+        assertTrue(orphanedEngine.get("BoatEngine").compound().containsKey("Fuel"));
+        Map<String, NbtTree.Tag> duplicateEngine = entities.get(DUPLICATE_ENGINE);
+        assertFalse(duplicateEngine.containsKey("HookedEntity"));
+        assertFalse(duplicateEngine.get("BoatEngine").compound().containsKey("HookedEntity"));
+
+        // the boat's own engine, which rides it as a passenger, stays hooked
+        assertEquals(BOAT, readUuid(entities.get(ENGINE).get("BoatEngine").compound().get("HookedEntity")));
+        assertEquals(ENGINE, readUuid(entities.get(BOAT).get("BoatEngineUuid")));
+        assertFalse(entities.get(FOREIGN_BOAT).containsKey("BoatEngineUuid"));
+        assertFalse(entities.get(FORGETFUL_BOAT).containsKey("BoatEngineUuid"));
+        assertTrue(entities.get(FORGETFUL_BOAT).containsKey("id"));
+    }
+
+    /**
+     * Chunk with every kind of broken link. The boat's own engine and a duplicate engine ride the boat, so their
+     * repair has to reach into the passengers.
+     */
+    private static NbtTree.Tag brokenChunk() {
+        Map<String, NbtTree.Tag> boat = entity("minecraft:boat", BOAT);
+        boat.put("BoatEngineUuid", uuidTag(ENGINE));
+        boat.put("Passengers", entityList(engine(ENGINE, BOAT, false), engine(DUPLICATE_ENGINE, BOAT, true)));
+        Map<String, NbtTree.Tag> foreignBoat = entity("minecraft:boat", FOREIGN_BOAT);
+        foreignBoat.put("BoatEngineUuid", uuidTag(ENGINE));
+        Map<String, NbtTree.Tag> forgetfulBoat = entity("minecraft:boat", FORGETFUL_BOAT);
+        forgetfulBoat.put("BoatEngineUuid", uuidTag(MISSING));
+
+        Map<String, NbtTree.Tag> root = new LinkedHashMap<>();
+        root.put("DataVersion", new NbtTree.Tag(INT, 3700));
+        root.put("Position", new NbtTree.Tag(INT_ARRAY, new int[]{0, 0}));
+        root.put("Entities", entityList(boat, engine(ORPHANED_ENGINE, MISSING, true), foreignBoat, forgetfulBoat));
+        return new NbtTree.Tag(COMPOUND, root);
+    }
+
+    /**
+     * @param topLevelLink true for engines, which also carry the link next to their {@code BoatEngine} data
+     */
+    private static Map<String, NbtTree.Tag> engine(UUID uuid, UUID hookedEntity, boolean topLevelLink) {
+        Map<String, NbtTree.Tag> engineData = new LinkedHashMap<>();
+        engineData.put("HookedEntity", uuidTag(hookedEntity));
+        engineData.put("Fuel", new NbtTree.Tag(FLOAT, 250.0f));
+        Map<String, NbtTree.Tag> engine = entity(ScannedEntity.BOAT_ENGINE_ID, uuid);
+        if (topLevelLink) engine.put("HookedEntity", uuidTag(hookedEntity));
+        engine.put("BoatEngine", new NbtTree.Tag(COMPOUND, engineData));
+        return engine;
+    }
+
+    private static Map<String, NbtTree.Tag> entity(String id, UUID uuid) {
+        Map<String, NbtTree.Tag> entity = new LinkedHashMap<>();
+        entity.put("id", new NbtTree.Tag(STRING, id));
+        entity.put("UUID", uuidTag(uuid));
+        return entity;
+    }
+
+    @SafeVarargs
+    private static NbtTree.Tag entityList(Map<String, NbtTree.Tag>... entities) {
+        List<NbtTree.Tag> elements = new ArrayList<>();
+        for (Map<String, NbtTree.Tag> entity : entities) elements.add(new NbtTree.Tag(COMPOUND, entity));
+        return new NbtTree.Tag(LIST, new NbtTree.ListTag(COMPOUND, elements));
+    }
+
+    private static void collectEntities(NbtTree.ListTag entities, Map<UUID, Map<String, NbtTree.Tag>> collected) {
+        for (NbtTree.Tag entity : entities.elements()) {
+            Map<String, NbtTree.Tag> entries = entity.compound();
+            collected.put(readUuid(entries.get("UUID")), entries);
+            NbtTree.Tag passengers = entries.get("Passengers");
+            if (passengers != null) collectEntities(passengers.list(), collected);
+        }
+    }
+
+    private static UUID readUuid(NbtTree.Tag tag) {
+        assertNotNull(tag);
+        int[] ints = (int[]) tag.value();
+        return uuid(ints);
+    }
+}
@@ -0,0 +1,64 @@
+package net.shirojr.boatism.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.zip.DeflaterOutputStream;
+
+import static net.shirojr.boatism.tools.NbtSkimmer.INT_ARRAY;
+
+/**
+ * Builds the NBT and region files of the tools tests
+ */
+final class TestRegions {
+    static final int SECTOR_SIZE = 4096;
+
+    private TestRegions() {
+    }
+
+    static byte[] writeNbt(NbtTree.Tag root) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NbtTree.writeRoot(new DataOutputStream(bytes), root);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the chunks zlib compressed into consecutive sectors, like the game does for a new region file
+     */
+    static Path writeRegion(Path path, byte[]... chunks) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SECTOR_SIZE * 2);
+        ByteArrayOutputStream sectors = new ByteArrayOutputStream();
+        int sectorOffset = 2;
+        for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (DeflaterOutputStream output = new DeflaterOutputStream(compressed)) {
+                output.write(chunks[chunkIndex]);
+            }
+            int sectorCount = (compressed.size() + 5 + SECTOR_SIZE - 1) / SECTOR_SIZE;
+            ByteBuffer data = ByteBuffer.allocate(sectorCount * SECTOR_SIZE);
+            data.putInt(compressed.size() + 1).put((byte) 2).put(compressed.toByteArray());
+            sectors.write(data.array());
+            header.putInt(chunkIndex * 4, sectorOffset << 8 | sectorCount);
+            sectorOffset += sectorCount;
+        }
+        try (OutputStream output = Files.newOutputStream(path)) {
+            output.write(header.array());
+            output.write(sectors.toByteArray());
+        }
+        return path;
+    }
+
+    static NbtTree.Tag uuidTag(UUID uuid) {
+        long most = uuid.getMostSignificantBits(), least = uuid.getLeastSignificantBits();
+        return new NbtTree.Tag(INT_ARRAY, new int[]{(int) (most >> 32), (int) most, (int) (least >> 32), (int) least});
+    }
+
+    static UUID uuid(int... ints) {
+        return new UUID((long) ints[0] << 32 | ints[1] & 0xFFFFFFFFL, (long) ints[2] << 32 | ints[3] & 0xFFFFFFFFL);
+    }
+}